@@ -0,0 +1,60 @@
+package com.falco.recruitment.githubbrowser;
+
+import com.falco.recruitment.githubbrowser.metrics.StageTimer;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static com.falco.recruitment.githubbrowser.RepositoriesController.REPOSITORIES_CACHE_MAX_AGE_SECONDS;
+import static com.falco.recruitment.githubbrowser.RepositoriesController.REPOSITORIES_URL;
+import static com.falco.recruitment.githubbrowser.cache.CachingRepositoryFinder.CACHING_ID;
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+/**
+ * Serves repositories without holding a servlet thread while Github is called.
+ * Replaces {@link RepositoriesController} when githubbrowser.repositories.async is enabled.
+ */
+@RestController
+@RequestMapping(path = REPOSITORIES_URL)
+@ConditionalOnProperty(name = AsyncRepositoriesController.REPOSITORIES_ASYNC, havingValue = "true")
+public class AsyncRepositoriesController {
+    public static final String REPOSITORIES_ASYNC = "githubbrowser.repositories.async";
+    private final RepositoryResponses responses;
+    private final AsyncRepositoryFinder repositoryFinder;
+    private final StageTimer controllerTimer;
+
+    public AsyncRepositoriesController(
+            @Autowired @Qualifier(CACHING_ID) AsyncRepositoryFinder repositoryFinder,
+            @Autowired StageTimers stageTimers,
+            @Autowired RepositoryBodies bodies,
+            @Value(REPOSITORIES_CACHE_MAX_AGE_SECONDS) int cacheMaxAgeInSeconds) {
+        this.repositoryFinder = repositoryFinder;
+        this.controllerTimer = stageTimers.timer(StageTimers.CONTROLLER);
+        this.responses = new RepositoryResponses(cacheMaxAgeInSeconds, bodies);
+    }
+
+    @RequestMapping(method = GET)
+    public CompletableFuture<ResponseEntity<byte[]>> repositories(@RequestHeader HttpHeaders headers,
+                                                                  @PathVariable("owner") String owner,
+                                                                  @PathVariable("repository") String repository) {
+        OwnerRepository ownerRepository = ownerRepository(owner, repository);
+        ETag requestETag = ETag.from(headers.getETag());
+        boolean acceptsGzip = RepositoryResponses.acceptsGzip(headers);
+        long started = System.nanoTime();
+        return repositoryFinder.tryServeAsync(ownerRepository, requestETag)
+                .thenApply(repositoryOptional -> responses.of(requestETag, acceptsGzip, repositoryOptional))
+                .whenComplete((response, e) -> controllerTimer.recordSince(started));
+    }
+}
@@ -0,0 +1,20 @@
+package com.falco.recruitment.githubbrowser;
+
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link RepositoryFinder}. Implementations must not block calling thread.
+ */
+public interface AsyncRepositoryFinder {
+    CompletableFuture<Optional<Repository>> tryFindAsync(OwnerRepository ownerRepository, ETag eTag);
+
+    /**
+     * @see RepositoryFinder#tryServe(OwnerRepository, ETag)
+     */
+    default CompletableFuture<Optional<ServedRepository>> tryServeAsync(OwnerRepository ownerRepository, ETag eTag) {
+        return tryFindAsync(ownerRepository, eTag).thenApply(found -> found.map(ServedRepository::fresh));
+    }
+}
@@ -0,0 +1,86 @@
+package com.falco.recruitment.githubbrowser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+
+/**
+ * Looks up list of repositories, streaming one json line per repository as soon as its lookup completes.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = BatchRepositoriesController.BATCH_URL)
+public class BatchRepositoriesController {
+    public static final String BATCH_URL = "${githubbrowser.repositories.batch.url}";
+    public static final String BATCH_MAX_SIZE = "${githubbrowser.repositories.batch.max.size}";
+    public static final String BATCH_TIMEOUT_MILLIS = "${githubbrowser.repositories.batch.timeout.millis}";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private final BatchRepositoryFinder batchRepositoryFinder;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final long timeoutMillis;
+
+    public BatchRepositoriesController(
+            @Autowired BatchRepositoryFinder batchRepositoryFinder,
+            @Autowired ObjectMapper objectMapper,
+            @Value(BATCH_MAX_SIZE) int maxSize,
+            @Value(BATCH_TIMEOUT_MILLIS) long timeoutMillis) {
+        this.batchRepositoryFinder = batchRepositoryFinder;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @RequestMapping(method = POST, consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> repositories(@RequestBody List<OwnerRepository> ownerRepositories) {
+        if (ownerRepositories.size() > maxSize) {
+            LOG.debug("Rejecting batch of {} repositories, limit is {}", ownerRepositories.size(), maxSize);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        try {
+            batchRepositoryFinder.findAll(ownerRepositories, result -> send(emitter, result))
+                    .whenComplete((done, e) -> {
+                        if (e == null) {
+                            emitter.complete();
+                        } else {
+                            emitter.completeWithError(e);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Rejecting batch of {} repositories, batch executor is full", ownerRepositories.size());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(emitter);
+    }
+
+    private void send(ResponseBodyEmitter emitter, BatchResult result) {
+        try {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+            objectMapper.writeValue(line, result);
+            line.write('\n');
+            synchronized (emitter) {
+                emitter.send(line.toByteArray(), APPLICATION_NDJSON);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
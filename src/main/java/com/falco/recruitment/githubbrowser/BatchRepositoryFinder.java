@@ -0,0 +1,98 @@
+package com.falco.recruitment.githubbrowser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Looks up many repositories with at most {@code concurrency} lookups of a single batch in flight.
+ * Results are passed on in completion order, so cached repositories are not held back by slow upstream calls.
+ */
+@Slf4j
+@Service
+public class BatchRepositoryFinder {
+    public static final String BATCH_CONCURRENCY = "${githubbrowser.repositories.batch.concurrency}";
+    private final RepositoryFinder repositoryFinder;
+    private final Executor executor;
+    private final int concurrency;
+
+    public BatchRepositoryFinder(
+            @Autowired RepositoryFinder repositoryFinder,
+            @Autowired @Qualifier(Factory.BATCH_EXECUTOR) Executor executor,
+            @Value(BATCH_CONCURRENCY) int concurrency) {
+        this.repositoryFinder = repositoryFinder;
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Batch is drained by fewer workers when executor cannot take all of them.
+     *
+     * @param resultConsumer called concurrently, exception thrown from consumer cancels remaining lookups
+     * @throws RejectedExecutionException when executor cannot take a single worker, nothing is looked up then
+     */
+    public CompletableFuture<Void> findAll(List<OwnerRepository> ownerRepositories, Consumer<BatchResult> resultConsumer) {
+        Batch batch = new Batch(ownerRepositories, resultConsumer);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(concurrency, ownerRepositories.size()); i++) {
+            try {
+                workers.add(CompletableFuture.runAsync(batch::drain, executor));
+            } catch (RejectedExecutionException e) {
+                if (workers.isEmpty()) {
+                    throw e;
+                }
+                LOG.debug("Batch executor is full, draining batch with {} workers", workers.size());
+                break;
+            }
+        }
+        return CompletableFuture.allOf(workers.toArray(new CompletableFuture[workers.size()]));
+    }
+
+    private BatchResult find(OwnerRepository ownerRepository) {
+        try {
+            return repositoryFinder.tryFind(ownerRepository, ETag.NO_ETAG)
+                    .map(repository -> BatchResult.found(ownerRepository, repository))
+                    .orElseGet(() -> BatchResult.notFound(ownerRepository));
+        } catch (RuntimeException e) {
+            LOG.warn("Batch lookup of '{}' failed", ownerRepository, e);
+            return BatchResult.error(ownerRepository, BatchResult.ErrorCode.of(e));
+        }
+    }
+
+    private class Batch {
+        private final List<OwnerRepository> ownerRepositories;
+        private final Consumer<BatchResult> resultConsumer;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private Batch(List<OwnerRepository> ownerRepositories, Consumer<BatchResult> resultConsumer) {
+            this.ownerRepositories = ownerRepositories;
+            this.resultConsumer = resultConsumer;
+        }
+
+        private void drain() {
+            int index;
+            while (!cancelled.get() && (index = next.getAndIncrement()) < ownerRepositories.size()) {
+                BatchResult result = find(ownerRepositories.get(index));
+                try {
+                    resultConsumer.accept(result);
+                } catch (RuntimeException e) {
+                    cancelled.set(true);
+                    throw e;
+                }
+            }
+        }
+    }
+}
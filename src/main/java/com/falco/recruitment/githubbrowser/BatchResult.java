@@ -0,0 +1,68 @@
+package com.falco.recruitment.githubbrowser;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.netflix.hystrix.exception.HystrixRuntimeException;
+import lombok.Value;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Single line of batch lookup response.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+    private final String owner;
+    private final String repository;
+    private final Status status;
+    private final Repository details;
+    private final ErrorCode error;
+
+    public static BatchResult found(OwnerRepository ownerRepository, Repository repository) {
+        return new BatchResult(ownerRepository.getOwner(), ownerRepository.getRepository(), Status.FOUND, repository, null);
+    }
+
+    public static BatchResult notFound(OwnerRepository ownerRepository) {
+        return new BatchResult(ownerRepository.getOwner(), ownerRepository.getRepository(), Status.NOT_FOUND, null, null);
+    }
+
+    public static BatchResult error(OwnerRepository ownerRepository, ErrorCode error) {
+        return new BatchResult(ownerRepository.getOwner(), ownerRepository.getRepository(), Status.ERROR, null, error);
+    }
+
+    public enum Status {
+        FOUND, NOT_FOUND, ERROR
+    }
+
+    /**
+     * Failure of lookup as told to clients, exception details stay in logs.
+     */
+    public enum ErrorCode {
+        RATE_LIMITED, REJECTED, UNAVAILABLE, TIMEOUT, UPSTREAM_ERROR, INTERNAL_ERROR;
+
+        public static ErrorCode of(Throwable e) {
+            if (e instanceof RateLimitExceededException) {
+                return RATE_LIMITED;
+            }
+            if (e instanceof BulkheadRejectedException) {
+                return REJECTED;
+            }
+            if (e instanceof HystrixRuntimeException) {
+                switch (((HystrixRuntimeException) e).getFailureType()) {
+                    case SHORTCIRCUIT:
+                        return UNAVAILABLE;
+                    case REJECTED_SEMAPHORE_EXECUTION:
+                    case REJECTED_THREAD_EXECUTION:
+                        return REJECTED;
+                    case TIMEOUT:
+                        return TIMEOUT;
+                    default:
+                        return e.getCause() == null ? UPSTREAM_ERROR : of(e.getCause());
+                }
+            }
+            if (e instanceof RestClientException) {
+                return UPSTREAM_ERROR;
+            }
+            return INTERNAL_ERROR;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.falco.recruitment.githubbrowser;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lookup was not attempted, bulkhead of repository owner is full or its circuit is open.
+ * Caching finder serves stale repository when it holds one.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Owner lookups rejected")
+public class BulkheadRejectedException extends IllegalStateException {
+    public BulkheadRejectedException(String bulkhead, String reason) {
+        super("Lookup rejected by bulkhead '" + bulkhead + "': " + reason);
+    }
+}
@@ -1,27 +1,82 @@
 package com.falco.recruitment.githubbrowser;
 
+import com.falco.recruitment.githubbrowser.cache.MappedRepositoryStore;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryHttpMessageConverter;
+import com.falco.recruitment.githubbrowser.integration.GithubTokenPool;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
+import com.falco.recruitment.githubbrowser.integration.UpstreamCompression;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.metrics.TimedConnectionManager;
+import com.falco.recruitment.githubbrowser.metrics.UpstreamMetrics;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.cache.CacheConfig;
-import org.apache.http.impl.client.cache.CachingHttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class Factory {
+    public static final String FAN_OUT_EXECUTOR = "fanOutExecutor";
+    public static final String BATCH_EXECUTOR = "batchExecutor";
+    public static final String PAGES_EXECUTOR = "pagesExecutor";
+    @Value("${github.async.io.threads}")
+    private int asyncIoThreads;
+    @Value("${github.async.max.connections}")
+    private int asyncMaxConnections;
 
-    private ClientHttpRequestFactory httpRequestFactory() {
-        return new HttpComponentsClientHttpRequestFactory(cachingClient());
+    /**
+     * Every request gets its own cache context, so cache hits, misses and validations are counted.
+     */
+    private ClientHttpRequestFactory httpRequestFactory(StageTimers stageTimers, UpstreamMetrics upstreamMetrics,
+                                                        GithubTokenPool tokenPool) {
+        return new HttpComponentsClientHttpRequestFactory(cachingClient(stageTimers, tokenPool)) {
+            @Override
+            protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+                return upstreamMetrics.httpCacheContext();
+            }
+        };
     }
 
-    private CloseableHttpClient cachingClient() {
+    /**
+     * Token is selected and its rate limit budget checked below http cache, only requests actually sent to Github are counted.
+     * Github marks responses to authenticated requests private, shared cache would not keep them.
+     * Content decompression is left to {@link UpstreamCompression}, so cache keeps gzipped bodies.
+     */
+    private CloseableHttpClient cachingClient(StageTimers stageTimers, GithubTokenPool tokenPool) {
         CacheConfig cacheConfig = CacheConfig.custom()
                 .setMaxCacheEntries(5000)
-                .setMaxObjectSize(8192)
+                //full Github repository is ~16kB uncompressed
+                .setMaxObjectSize(65536)
+                .setSharedCache(!tokenPool.isAuthenticated())
                 .build();
         RequestConfig requestConfig = RequestConfig.custom()
                 .setConnectTimeout(30000)
@@ -29,20 +84,127 @@ public class Factory {
                 .setStaleConnectionCheckEnabled(false)
                 .build();
 
-        PoolingHttpClientConnectionManager poolingConnectionManager = new PoolingHttpClientConnectionManager();
+        TimedConnectionManager poolingConnectionManager = new TimedConnectionManager(stageTimers.timer(StageTimers.POOL_LEASE));
         poolingConnectionManager.setMaxTotal(120);
+        //all requests go to single route (api.github.com), default of 2 connections per route would cap concurrency
+        poolingConnectionManager.setDefaultMaxPerRoute(120);
 
-        return CachingHttpClients.custom()
+        CachingHttpClientBuilder builder = new CachingHttpClientBuilder() {
+            @Override
+            protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+                return super.decorateMainExec(tokenPool.limiting(mainExec));
+            }
+        };
+        return builder
                 .setCacheConfig(cacheConfig)
                 .setDefaultRequestConfig(requestConfig)
                 .setConnectionManager(poolingConnectionManager)
+                .disableContentCompression()
+                .build();
+    }
+
+    /**
+     * Requests waiting for a connection are queued by the client without holding a thread,
+     * all I/O is done by a fixed number of reactor threads.
+     */
+    private CloseableHttpAsyncClient asyncClient(GithubTokenPool tokenPool) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(30000)
+                .setSocketTimeout(30000)
+                .setConnectionRequestTimeout(30000)
+                .build();
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(asyncIoThreads)
+                .build();
+
+        return HttpAsyncClients.custom()
+                .setDefaultIOReactorConfig(ioReactorConfig)
+                .setDefaultRequestConfig(requestConfig)
+                .setMaxConnTotal(asyncMaxConnections)
+                .setMaxConnPerRoute(asyncMaxConnections)
+                .addInterceptorFirst(tokenPool.requestInterceptor())
+                .addInterceptorFirst(tokenPool.responseInterceptor())
                 .build();
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate(httpRequestFactory());
+    public RestTemplate restTemplate(@Autowired StageTimers stageTimers, @Autowired UpstreamMetrics upstreamMetrics,
+                                     @Autowired UpstreamCompression upstreamCompression, @Autowired GithubTokenPool tokenPool) {
+        RestTemplate restTemplate = new RestTemplate(httpRequestFactory(stageTimers, upstreamMetrics, tokenPool));
         restTemplate.setErrorHandler(new ErrorStatusInResponseErrorHandler());
+        restTemplate.setInterceptors(Arrays.asList(upstreamMetrics.interceptor(), upstreamCompression.interceptor()));
+        restTemplate.getMessageConverters().add(0, new GithubRepositoryHttpMessageConverter(stageTimers.timer(StageTimers.PARSE)));
         return restTemplate;
     }
+
+    @Bean
+    public AsyncRestTemplate asyncRestTemplate(@Autowired StageTimers stageTimers, @Autowired UpstreamMetrics upstreamMetrics,
+                                               @Autowired UpstreamCompression upstreamCompression, @Autowired GithubTokenPool tokenPool) {
+        AsyncRestTemplate asyncRestTemplate = new AsyncRestTemplate(new HttpComponentsAsyncClientHttpRequestFactory(asyncClient(tokenPool)));
+        asyncRestTemplate.setErrorHandler(new ErrorStatusInResponseErrorHandler());
+        asyncRestTemplate.setInterceptors(Arrays.asList(upstreamMetrics.asyncInterceptor(), upstreamCompression.asyncInterceptor()));
+        asyncRestTemplate.getMessageConverters().add(0, new GithubRepositoryHttpMessageConverter(stageTimers.timer(StageTimers.PARSE)));
+        return asyncRestTemplate;
+    }
+
+    /**
+     * Shared by both http clients, every token has its own rate limit budget.
+     */
+    @Bean
+    public GithubTokenPool githubTokenPool(
+            @Value("${github.tokens:}") String tokens,
+            @Value("${github.rate.limit.per.hour}") int limitPerHour,
+            @Value("${github.rate.limit.anonymous.per.hour}") int anonymousLimitPerHour,
+            @Value("${github.rate.limit.revalidation.reserve}") double revalidationReserve,
+            @Value("${github.rate.limit.burst}") int burst,
+            @Value("${github.rate.limit.max.wait.millis}") long maxWaitMillis) {
+        List<String> secrets = Arrays.stream(tokens.split(",")).map(String::trim).filter(token -> !token.isEmpty()).collect(Collectors.toList());
+        int initialLimit = secrets.isEmpty() ? anonymousLimitPerHour : limitPerHour;
+        return new GithubTokenPool(secrets,
+                () -> new RateLimitBudget(initialLimit, revalidationReserve, burst, Duration.ofMillis(maxWaitMillis), Clock.systemUTC()));
+    }
+
+    /**
+     * Repositories are persisted only when cache file is configured.
+     */
+    @Bean
+    public RepositoryStore repositoryStore(
+            @Value("${githubbrowser.repositories.cache.file:}") String file,
+            @Value("${githubbrowser.repositories.cache.file.max.size.mb}") int maxSizeInMegabytes) {
+        if (file.isEmpty()) {
+            return RepositoryStore.NONE;
+        }
+        return new MappedRepositoryStore(Paths.get(file), maxSizeInMegabytes * 1024 * 1024);
+    }
+
+    @Bean(name = FAN_OUT_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService fanOutExecutor(@Value("${githubbrowser.fanout.threads}") int threads) {
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("fan-out-"));
+    }
+
+    /**
+     * Batch lookups block their threads for whole batch, so they get own pool rather than starving other fan-out work.
+     * Workers above queue size are rejected.
+     */
+    @Bean(name = BATCH_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService batchExecutor(
+            @Value("${githubbrowser.repositories.batch.threads}") int threads,
+            @Value("${githubbrowser.repositories.batch.queue.size}") int queueSize) {
+        return boundedExecutor(threads, queueSize, "batch-");
+    }
+
+    /**
+     * Page prefetch of owner listings, bounded so that many concurrent listings can not pile up page requests.
+     */
+    @Bean(name = PAGES_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService pagesExecutor(
+            @Value("${githubbrowser.repositories.owner.pages.threads}") int threads,
+            @Value("${githubbrowser.repositories.owner.pages.queue.size}") int queueSize) {
+        return boundedExecutor(threads, queueSize, "pages-");
+    }
+
+    private static ExecutorService boundedExecutor(int threads, int queueSize, String threadNamePrefix) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                new CustomizableThreadFactory(threadNamePrefix), new ThreadPoolExecutor.AbortPolicy());
+    }
 }
@@ -0,0 +1,74 @@
+package com.falco.recruitment.githubbrowser;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+
+import static com.falco.recruitment.githubbrowser.BatchRepositoriesController.APPLICATION_NDJSON;
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+/**
+ * Lists all repositories of an owner, streaming one json line per repository page by page.
+ */
+@RestController
+@RequestMapping(path = OwnerRepositoriesController.OWNER_REPOSITORIES_URL)
+public class OwnerRepositoriesController {
+    public static final String OWNER_REPOSITORIES_URL = "${githubbrowser.repositories.owner.url}";
+    public static final String OWNER_TIMEOUT_MILLIS = "${githubbrowser.repositories.owner.timeout.millis}";
+    private final OwnerRepositoriesFinder ownerRepositoriesFinder;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    public OwnerRepositoriesController(
+            @Autowired OwnerRepositoriesFinder ownerRepositoriesFinder,
+            @Autowired ObjectMapper objectMapper,
+            @Value(OWNER_TIMEOUT_MILLIS) long timeoutMillis) {
+        this.ownerRepositoriesFinder = ownerRepositoriesFinder;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @RequestMapping(method = GET)
+    public ResponseEntity<ResponseBodyEmitter> repositories(@PathVariable("owner") String owner) {
+        Optional<GithubRepositoryPage> firstPage = ownerRepositoriesFinder.firstPage(owner);
+        if (!firstPage.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        ownerRepositoriesFinder.findAll(firstPage.get(), repositories -> send(emitter, repositories))
+                .whenComplete((done, e) -> {
+                    if (e == null) {
+                        emitter.complete();
+                    } else {
+                        emitter.completeWithError(e);
+                    }
+                });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(emitter);
+    }
+
+    private void send(ResponseBodyEmitter emitter, List<Repository> repositories) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream(512 * repositories.size());
+            for (Repository repository : repositories) {
+                objectMapper.writeValue(lines, repository);
+                lines.write('\n');
+            }
+            emitter.send(lines.toByteArray(), APPLICATION_NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
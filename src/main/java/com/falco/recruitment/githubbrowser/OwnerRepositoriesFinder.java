@@ -0,0 +1,132 @@
+package com.falco.recruitment.githubbrowser;
+
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryPage;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryPages;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Lists all repositories of an owner page by page.
+ * Once first page tells how many pages follow, up to {@code window} next pages are fetched concurrently
+ * while earlier ones are passed on, pages are always passed on in order. When page executor is saturated fewer pages
+ * are fetched ahead, listing fails only when not a single page can be requested.
+ * Listed repositories come without their own ETag, so only those not cached are put into {@link RepositoryCache};
+ * cached repository which differs from listed one is invalidated (to be fetched with new ETag on next lookup)
+ * rather than replaced, unchanged one keeps its entry and ETag.
+ */
+@Slf4j
+@Service
+public class OwnerRepositoriesFinder {
+    public static final String PREFETCH_WINDOW = "${githubbrowser.repositories.owner.prefetch.window}";
+    private final GithubRepositoryPages pages;
+    private final RepositoryCache repositoryCache;
+    private final Executor executor;
+    private final int window;
+
+    public OwnerRepositoriesFinder(
+            @Autowired GithubRepositoryPages pages,
+            @Autowired RepositoryCache repositoryCache,
+            @Autowired @Qualifier(Factory.PAGES_EXECUTOR) Executor executor,
+            @Value(PREFETCH_WINDOW) int window) {
+        this.pages = pages;
+        this.repositoryCache = repositoryCache;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Fetches first page on caller thread, so missing owner is known before anything is streamed.
+     *
+     * @return empty when owner is not found
+     */
+    public Optional<GithubRepositoryPage> firstPage(String owner) {
+        return pages.page(pages.firstPage(owner));
+    }
+
+    /**
+     * @param pageConsumer called with repositories of every page starting with the first one, one page at a time;
+     *                     exception thrown from consumer stops the listing
+     */
+    public CompletableFuture<Void> findAll(GithubRepositoryPage firstPage, Consumer<List<Repository>> pageConsumer) {
+        Listing listing = new Listing(pageConsumer);
+        try {
+            return listing.deliver(Optional.of(firstPage));
+        } catch (RuntimeException e) {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private void feed(Repository listed) {
+        Optional<Repository> cached = repositoryCache.get(listed.ownerRepository()).map(cachedRepository -> cachedRepository.getRepository());
+        if (!cached.isPresent()) {
+            repositoryCache.put(listed.ownerRepository(), listed);
+        } else if (!cached.get().toBuilder().eTag(listed.getETag()).build().equals(listed)) {
+            repositoryCache.invalidate(listed.ownerRepository());
+        }
+    }
+
+    /**
+     * Pages are requested and delivered one step at a time, every step is chained on completion of the previous one.
+     */
+    private class Listing {
+        private final Consumer<List<Repository>> pageConsumer;
+        private final List<URI> known = new ArrayList<>();
+        private final Queue<CompletableFuture<Optional<GithubRepositoryPage>>> inFlight = new ArrayDeque<>();
+        private int requested;
+
+        private Listing(Consumer<List<Repository>> pageConsumer) {
+            this.pageConsumer = pageConsumer;
+        }
+
+        private CompletableFuture<Void> deliver(Optional<GithubRepositoryPage> page) {
+            if (!page.isPresent()) {
+                LOG.debug("Owner disappeared while being listed, {} pages not fetched", known.size() - requested);
+                return CompletableFuture.completedFuture(null);
+            }
+            page.get().getRepositories().forEach(OwnerRepositoriesFinder.this::feed);
+            pageConsumer.accept(page.get().getRepositories());
+            if (requested == known.size() && inFlight.isEmpty()) {
+                known.addAll(page.get().following());
+            }
+            return next();
+        }
+
+        private CompletableFuture<Void> next() {
+            while (inFlight.size() < window && requested < known.size()) {
+                URI uri = known.get(requested);
+                try {
+                    inFlight.add(CompletableFuture.supplyAsync(() -> pages.page(uri), executor));
+                } catch (RejectedExecutionException e) {
+                    if (inFlight.isEmpty()) {
+                        throw e;
+                    }
+                    LOG.debug("Page executor saturated, {} pages fetched ahead", inFlight.size());
+                    break;
+                }
+                requested++;
+            }
+            CompletableFuture<Optional<GithubRepositoryPage>> page = inFlight.poll();
+            if (page == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return page.thenCompose(this::deliver);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.falco.recruitment.githubbrowser;
 import lombok.NonNull;
 import lombok.Value;
 
+import java.util.Locale;
+
 @Value
 public class OwnerRepository {
     @NonNull
@@ -13,4 +15,11 @@ public class OwnerRepository {
     public static OwnerRepository ownerRepository(String owner, String repository) {
         return new OwnerRepository(owner, repository);
     }
+
+    /**
+     * Github resolves owner and repository names case insensitively.
+     */
+    public OwnerRepository normalized() {
+        return ownerRepository(owner.toLowerCase(Locale.ROOT), repository.toLowerCase(Locale.ROOT));
+    }
 }
@@ -0,0 +1,24 @@
+package com.falco.recruitment.githubbrowser;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Instant;
+
+/**
+ * Github rate limit is spent until reset, or request would have to wait too long for its share of remaining limit.
+ * Raised instead of sending request Github would reject, caching finder serves stale repository when it holds one.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Github rate limit exceeded")
+public class RateLimitExceededException extends IllegalStateException {
+    private final Instant resetAt;
+
+    public RateLimitExceededException(String reason, Instant resetAt) {
+        super("Github rate limit exceeded: " + reason + ", resets at " + resetAt);
+        this.resetAt = resetAt;
+    }
+
+    public Instant getResetAt() {
+        return resetAt;
+    }
+}
@@ -1,12 +1,12 @@
 package com.falco.recruitment.githubbrowser;
 
-import org.slf4j.Logger;
+import com.falco.recruitment.githubbrowser.metrics.StageTimer;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.rest.webmvc.support.ETag;
-import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -16,80 +16,48 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Optional;
 
 import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
-import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.springframework.http.HttpStatus.NOT_MODIFIED;
-import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 
 @RestController
 @RequestMapping(path = RepositoriesController.REPOSITORIES_URL)
+@ConditionalOnProperty(name = AsyncRepositoriesController.REPOSITORIES_ASYNC, havingValue = "false", matchIfMissing = true)
 public class RepositoriesController {
     public static final String REPOSITORIES_URL = "${githubbrowser.repositories.url}";
     public static final String REPOSITORIES_CACHE_MAX_AGE_SECONDS = "${githubbrowser.repositories.cache.max.age.seconds}";
-    private static final Logger LOG = org.slf4j.LoggerFactory.getLogger(RepositoriesController.class);
-    private final CacheControl cacheControl;
+    private final RepositoryResponses responses;
     private final RepositoryFinder repositoryFinder;
-    private final int cacheMaxAge;
+    private final StageTimer controllerTimer;
 
     public RepositoriesController(
             @Autowired RepositoryFinder repositoryFinder,
+            @Autowired StageTimers stageTimers,
+            @Autowired RepositoryBodies bodies,
             @Value(REPOSITORIES_CACHE_MAX_AGE_SECONDS) int cacheMaxAgeInSeconds) {
         this.repositoryFinder = repositoryFinder;
-        this.cacheMaxAge = cacheMaxAgeInSeconds;
-        this.cacheControl = CacheControl.maxAge(cacheMaxAge, SECONDS).cachePublic();
+        this.controllerTimer = stageTimers.timer(StageTimers.CONTROLLER);
+        this.responses = new RepositoryResponses(cacheMaxAgeInSeconds, bodies);
     }
 
     @RequestMapping(method = GET)
-    public ResponseEntity<Repository> repositories(@RequestHeader HttpHeaders headers,
-                                                   @PathVariable("owner") String owner,
-                                                   @PathVariable("repository") String repository) {
-        return findByETag(ownerRepository(owner, repository), etagIn(headers));
+    public ResponseEntity<byte[]> repositories(@RequestHeader HttpHeaders headers,
+                                               @PathVariable("owner") String owner,
+                                               @PathVariable("repository") String repository) {
+        return findByETag(ownerRepository(owner, repository), etagIn(headers), RepositoryResponses.acceptsGzip(headers));
     }
 
     private ETag etagIn(HttpHeaders headers) {
         return ETag.from(headers.getETag());
     }
 
-    private ResponseEntity<Repository> findByETag(OwnerRepository ownerRepository, ETag requestETag) {
-        LOG.trace("Searching for repository '{}', by ETag:'{}'", ownerRepository, requestETag);
-        Optional<Repository> repositoryOptional = repositoryFinder.tryFind(ownerRepository, requestETag);
-        return repositoryOptional
-                .map(repository -> handleFound(requestETag, repository))
-                .orElseGet(this::handleNotFound);
-
-    }
-
-    private ResponseEntity<Repository> handleFound(ETag requestETag, Repository repository) {
-        boolean notModified = sameETags(requestETag, repository);
-        if (notModified) {
-            ResponseEntity<Repository> response = ResponseEntity
-                    .status(NOT_MODIFIED)
-                    .eTag(repository.getETag().toString())
-                    .cacheControl(cacheControl)
-                    .build();
-            LOG.trace("Repository matching etag found, returning '{}'", response);
-            return response;
+    private ResponseEntity<byte[]> findByETag(OwnerRepository ownerRepository, ETag requestETag, boolean acceptsGzip) {
+        long started = System.nanoTime();
+        try {
+            Optional<ServedRepository> repositoryOptional = repositoryFinder.tryServe(ownerRepository, requestETag);
+            return responses.of(requestETag, acceptsGzip, repositoryOptional);
+        } catch (RepositoryNotModifiedException e) {
+            return responses.notModified(e.getETag());
+        } finally {
+            controllerTimer.recordSince(started);
         }
-        ResponseEntity<Repository> response = ResponseEntity
-                .status(OK)
-                .eTag(repository.getETag().toString())
-                .cacheControl(cacheControl)
-                .body(repository);
-        LOG.trace("Repository found, returning '{}'", response);
-        return response;
-    }
-
-    private boolean sameETags(ETag requestETag, Repository repository) {
-        return sameETags(requestETag, repository.getETag());
-    }
-
-    private boolean sameETags(ETag eTag1, ETag eTag2) {
-        return !eTag1.equals(ETag.NO_ETAG) && !eTag2.equals(ETag.NO_ETAG) && eTag1.equals(eTag2);
-    }
-
-    private ResponseEntity<Repository> handleNotFound() {
-        ResponseEntity<Repository> response = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        LOG.trace("Repository not found, returning '{}'", response);
-        return response;
     }
 }
@@ -0,0 +1,84 @@
+package com.falco.recruitment.githubbrowser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response bodies of repositories, serialized to JSON and gzipped once per repository and ETag,
+ * so responses for hot repositories are written without Jackson or compression on request path.
+ * Bodies are bounded by their size in bytes, repositories without ETag are serialized on every call.
+ */
+@Component
+public class RepositoryBodies {
+    public static final String MAX_SIZE_MB = "${githubbrowser.repositories.cache.body.max.size.mb}";
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private final LongAdder serialized = new LongAdder();
+    private final ObjectWriter writer;
+    private final Cache<Key, Body> bodies;
+
+    public RepositoryBodies(
+            @Autowired ObjectMapper objectMapper,
+            @org.springframework.beans.factory.annotation.Value(MAX_SIZE_MB) int maxSizeInMb) {
+        this.writer = objectMapper.writerFor(Repository.class);
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxSizeInMb * 1024L * 1024L)
+                .<Key, Body>weigher((key, body) -> body.json.length + body.gzip.length + ENTRY_OVERHEAD_BYTES)
+                .build();
+    }
+
+    public Body of(Repository repository) {
+        if (repository.getETag().equals(ETag.NO_ETAG)) {
+            return serialize(repository);
+        }
+        return bodies.get(new Key(repository.ownerRepository().normalized(), repository.getETag()), key -> serialize(repository));
+    }
+
+    public long serializedCount() {
+        return serialized.sum();
+    }
+
+    private Body serialize(Repository repository) {
+        serialized.increment();
+        try {
+            byte[] json = writer.writeValueAsBytes(repository);
+            return new Body(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Repository '" + repository.ownerRepository() + "' can not be serialized", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Value
+    public static class Body {
+        private final byte[] json;
+        private final byte[] gzip;
+    }
+
+    @Value
+    private static class Key {
+        private final OwnerRepository ownerRepository;
+        private final ETag eTag;
+    }
+}
@@ -6,4 +6,11 @@ import java.util.Optional;
 
 public interface RepositoryFinder {
     Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag);
+
+    /**
+     * Same lookup telling whether repository is served stale, finders which never serve stale repositories need not override it.
+     */
+    default Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag) {
+        return tryFind(ownerRepository, eTag).map(ServedRepository::fresh);
+    }
 }
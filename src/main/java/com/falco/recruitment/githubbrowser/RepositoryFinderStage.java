@@ -0,0 +1,20 @@
+package com.falco.recruitment.githubbrowser;
+
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.Optional;
+
+/**
+ * Decorating {@link RepositoryFinder} which can be placed in front of any other finder,
+ * so finder pipeline can be composed from configuration.
+ */
+public interface RepositoryFinderStage {
+    Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next);
+
+    /**
+     * @see RepositoryFinder#tryServe(OwnerRepository, ETag)
+     */
+    default Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+        return tryFind(ownerRepository, eTag, next).map(ServedRepository::fresh);
+    }
+}
@@ -0,0 +1,23 @@
+package com.falco.recruitment.githubbrowser;
+
+import org.springframework.data.rest.webmvc.support.ETag;
+
+/**
+ * Github confirmed that repository matching requested ETag is still current.
+ * Raised to caller which made conditional request and holds repository body itself
+ * (cache stage, or client of controller when pipeline has no cache stage).
+ * Raised on every 304, so it carries no stack trace.
+ */
+public class RepositoryNotModifiedException extends RuntimeException {
+    private final ETag eTag;
+
+    public RepositoryNotModifiedException(OwnerRepository ownerRepository, ETag eTag) {
+        super("Repository '" + ownerRepository.getOwner() + "/" + ownerRepository.getRepository() + "' not modified since " + eTag,
+                null, false, false);
+        this.eTag = eTag;
+    }
+
+    public ETag getETag() {
+        return eTag;
+    }
+}
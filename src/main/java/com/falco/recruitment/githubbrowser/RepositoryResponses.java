@@ -0,0 +1,106 @@
+package com.falco.recruitment.githubbrowser;
+
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Builds repository responses shared by blocking and asynchronous controllers.
+ * Bodies are written as pre-serialized bytes from {@link RepositoryBodies}, gzipped when client accepts it.
+ */
+class RepositoryResponses {
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    private static final String GZIP = "gzip";
+    private static final Pattern GZIP_REFUSED = Pattern.compile(";\\s*q=0(\\.0*)?\\s*$");
+    private final CacheControl cacheControl;
+    private final CacheControl staleCacheControl = CacheControl.noCache();
+    private final RepositoryBodies bodies;
+
+    RepositoryResponses(int cacheMaxAgeInSeconds, RepositoryBodies bodies) {
+        this.cacheControl = CacheControl.maxAge(cacheMaxAgeInSeconds, SECONDS).cachePublic();
+        this.bodies = bodies;
+    }
+
+    ResponseEntity<byte[]> of(ETag requestETag, boolean acceptsGzip, Optional<ServedRepository> repositoryOptional) {
+        return repositoryOptional
+                .map(served -> handleFound(requestETag, acceptsGzip, served))
+                .orElseGet(this::handleNotFound);
+    }
+
+    /**
+     * Github confirmed client's ETag itself, when pipeline has no cache stage to resolve conditional request.
+     */
+    ResponseEntity<byte[]> notModified(ETag eTag) {
+        return withETag(NOT_MODIFIED, eTag).build();
+    }
+
+    static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String acceptEncoding : requestHeaders.getOrDefault(HttpHeaders.ACCEPT_ENCODING, Collections.emptyList())) {
+            for (String coding : acceptEncoding.split(",")) {
+                String trimmed = coding.trim();
+                if (trimmed.regionMatches(true, 0, GZIP, 0, GZIP.length())
+                        && (trimmed.length() == GZIP.length() || trimmed.charAt(GZIP.length()) == ';')) {
+                    return !GZIP_REFUSED.matcher(trimmed).find();
+                }
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<byte[]> handleFound(ETag requestETag, boolean acceptsGzip, ServedRepository served) {
+        boolean notModified = sameETags(requestETag, served.getRepository());
+        if (notModified) {
+            return found(NOT_MODIFIED, served).build();
+        }
+        RepositoryBodies.Body body = bodies.of(served.getRepository());
+        ResponseEntity.BodyBuilder response = found(OK, served).contentType(MediaType.APPLICATION_JSON_UTF8);
+        if (acceptsGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body.getGzip());
+        }
+        return response.body(body.getJson());
+    }
+
+    private ResponseEntity.BodyBuilder found(HttpStatus status, ServedRepository served) {
+        ETag eTag = served.getRepository().getETag();
+        if (served.isStale()) {
+            //stale entry must not be reused by clients or proxies for full max age once Github recovers
+            return withETag(status, eTag, staleCacheControl).header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return withETag(status, eTag);
+    }
+
+    private ResponseEntity.BodyBuilder withETag(HttpStatus status, ETag eTag) {
+        return withETag(status, eTag, cacheControl);
+    }
+
+    private ResponseEntity.BodyBuilder withETag(HttpStatus status, ETag eTag, CacheControl cacheControl) {
+        return ResponseEntity
+                .status(status)
+                .eTag(eTag.toString())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private boolean sameETags(ETag requestETag, Repository repository) {
+        return sameETags(requestETag, repository.getETag());
+    }
+
+    private boolean sameETags(ETag eTag1, ETag eTag2) {
+        return !eTag1.equals(ETag.NO_ETAG) && !eTag2.equals(ETag.NO_ETAG) && eTag1.equals(eTag2);
+    }
+
+    private ResponseEntity<byte[]> handleNotFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+}
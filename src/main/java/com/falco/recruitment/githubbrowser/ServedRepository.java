@@ -0,0 +1,22 @@
+package com.falco.recruitment.githubbrowser;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Repository together with how it is served, so responses can tell clients when it comes from cache past its max age.
+ */
+@Value
+public class ServedRepository {
+    @NonNull
+    private final Repository repository;
+    private final boolean stale;
+
+    public static ServedRepository fresh(Repository repository) {
+        return new ServedRepository(repository, false);
+    }
+
+    public static ServedRepository stale(Repository repository) {
+        return new ServedRepository(repository, true);
+    }
+}
@@ -0,0 +1,192 @@
+package com.falco.recruitment.githubbrowser.bulkhead;
+
+import com.falco.recruitment.githubbrowser.BulkheadRejectedException;
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.netflix.hystrix.exception.HystrixRuntimeException;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit and circuit breaker of one owner (or bucket of owners).
+ * Calls over the limit are rejected without waiting. Circuit opens when share of failed calls in a tumbling window
+ * reaches threshold, after sleep window single trial call decides whether it closes again.
+ * Github answering 304 counts as success, spent rate limit is not owner's fault and is not counted at all,
+ * neither is rejection by global Hystrix circuit below (short-circuited or over its concurrency limit).
+ */
+public class Bulkhead {
+    private final String name;
+    private final Settings settings;
+    private final Clock clock;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private Instant windowStart = Instant.MIN;
+    private int requests;
+    private int failures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    public Bulkhead(String name, Settings settings, Clock clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.permits = new Semaphore(settings.maxConcurrent);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        try {
+            T result = call.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        acquire();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            onFailure(e);
+            throw e;
+        }
+        return result.whenComplete((value, e) -> {
+            permits.release();
+            if (e == null) {
+                onSuccess();
+            } else {
+                onFailure(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int inFlight() {
+        return settings.maxConcurrent - permits.availablePermits();
+    }
+
+    public synchronized boolean isOpen() {
+        return openedAt != null;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long shortCircuitedCount() {
+        return shortCircuited.sum();
+    }
+
+    private void acquire() {
+        if (!allowRequest()) {
+            shortCircuited.increment();
+            throw new BulkheadRejectedException(name, "circuit open");
+        }
+        if (!permits.tryAcquire()) {
+            releaseTrial();
+            rejected.increment();
+            throw new BulkheadRejectedException(name, settings.maxConcurrent + " lookups in flight");
+        }
+    }
+
+    private synchronized boolean allowRequest() {
+        if (openedAt == null) {
+            return true;
+        }
+        if (trialInFlight || clock.instant().isBefore(openedAt.plus(settings.sleepWindow))) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    private synchronized void onSuccess() {
+        if (openedAt != null) {
+            openedAt = null;
+            trialInFlight = false;
+            windowStart = Instant.MIN;
+        }
+        count(false);
+    }
+
+    private synchronized void onFailure(Throwable e) {
+        if (e instanceof RepositoryNotModifiedException) {
+            onSuccess();
+            return;
+        }
+        if (e instanceof RateLimitExceededException || e instanceof BulkheadRejectedException || isHystrixRejection(e)) {
+            trialInFlight = false;
+            return;
+        }
+        if (openedAt != null) {
+            openedAt = clock.instant();
+            trialInFlight = false;
+            return;
+        }
+        count(true);
+        if (requests >= settings.minRequests && failures * 100 >= settings.errorThresholdPercentage * requests) {
+            openedAt = clock.instant();
+        }
+    }
+
+    private static boolean isHystrixRejection(Throwable e) {
+        if (!(e instanceof HystrixRuntimeException)) {
+            return false;
+        }
+        switch (((HystrixRuntimeException) e).getFailureType()) {
+            case SHORTCIRCUIT:
+            case REJECTED_SEMAPHORE_EXECUTION:
+            case REJECTED_THREAD_EXECUTION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    private void count(boolean failure) {
+        Instant now = clock.instant();
+        if (!now.isBefore(windowStart.plus(settings.window))) {
+            windowStart = now;
+            requests = 0;
+            failures = 0;
+        }
+        requests++;
+        if (failure) {
+            failures++;
+        }
+    }
+
+    @Value
+    @Builder
+    public static class Settings {
+        private final int maxConcurrent;
+        private final int minRequests;
+        private final int errorThresholdPercentage;
+        private final Duration window;
+        private final Duration sleepWindow;
+    }
+}
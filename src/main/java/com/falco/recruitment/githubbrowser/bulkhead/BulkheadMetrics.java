@@ -0,0 +1,44 @@
+package com.falco.recruitment.githubbrowser.bulkhead;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Totals over live bulkheads. Nothing is published per bulkhead, so metric names stay bounded however many owners are seen.
+ */
+@Component
+public class BulkheadMetrics implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.bulkhead.";
+    private final OwnerBulkheads bulkheads;
+
+    public BulkheadMetrics(@Autowired OwnerBulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        long open = 0;
+        long rejected = 0;
+        long shortCircuited = 0;
+        long inFlight = 0;
+        for (Bulkhead bulkhead : bulkheads.active()) {
+            open += bulkhead.isOpen() ? 1 : 0;
+            rejected += bulkhead.rejectedCount();
+            shortCircuited += bulkhead.shortCircuitedCount();
+            inFlight += bulkhead.inFlight();
+        }
+        metrics.add(new Metric<>(PREFIX + "active", bulkheads.size()));
+        metrics.add(new Metric<>(PREFIX + "open", open));
+        metrics.add(new Metric<>(PREFIX + "rejected", rejected));
+        metrics.add(new Metric<>(PREFIX + "short.circuited", shortCircuited));
+        metrics.add(new Metric<>(PREFIX + "in.flight", inFlight));
+        return metrics;
+    }
+}
@@ -0,0 +1,54 @@
+package com.falco.recruitment.githubbrowser.bulkhead;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryFinderStage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.falco.recruitment.githubbrowser.integration.CircuitBreakerRepositoryFinder.CIRCUIT_BREAKER_ID;
+import static com.falco.recruitment.githubbrowser.integration.GithubAsyncRepositoryFinder.GITHUB_ASYNC_REPOSITORY_FINDER;
+
+/**
+ * Runs Github lookups within bulkhead of repository owner, see {@link OwnerBulkheads}.
+ * Blocking lookups continue to global Hystrix circuit (semaphore isolated, so bulkheads are the only per-owner limit)
+ * as protection against whole Github failing; asynchronous lookups go to Github directly without global circuit.
+ */
+@Service(BulkheadRepositoryFinder.BULKHEAD_ID)
+public class BulkheadRepositoryFinder implements RepositoryFinder, AsyncRepositoryFinder, RepositoryFinderStage {
+    public static final String BULKHEAD_ID = "bulkheadRepositoryFinder";
+    private final OwnerBulkheads bulkheads;
+    private final RepositoryFinder repositoryFinder;
+    private final AsyncRepositoryFinder asyncRepositoryFinder;
+
+    public BulkheadRepositoryFinder(
+            @Autowired OwnerBulkheads bulkheads,
+            @Autowired @Qualifier(CIRCUIT_BREAKER_ID) RepositoryFinder repositoryFinder,
+            @Autowired @Qualifier(GITHUB_ASYNC_REPOSITORY_FINDER) AsyncRepositoryFinder asyncRepositoryFinder) {
+        this.bulkheads = bulkheads;
+        this.repositoryFinder = repositoryFinder;
+        this.asyncRepositoryFinder = asyncRepositoryFinder;
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
+        return tryFind(ownerRepository, eTag, repositoryFinder);
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+        return bulkheads.of(ownerRepository.getOwner()).call(() -> next.tryFind(ownerRepository, eTag));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Repository>> tryFindAsync(OwnerRepository ownerRepository, ETag eTag) {
+        return bulkheads.of(ownerRepository.getOwner()).callAsync(() -> asyncRepositoryFinder.tryFindAsync(ownerRepository, eTag));
+    }
+}
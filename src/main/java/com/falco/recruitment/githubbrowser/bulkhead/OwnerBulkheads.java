@@ -0,0 +1,87 @@
+package com.falco.recruitment.githubbrowser.bulkhead;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Bulkheads partitioning Github lookups by repository owner, so a slow or failing owner uses up only its own
+ * concurrency limit and trips only its own circuit.
+ * Owners are hashed into fixed number of buckets, or with zero buckets every owner gets its own bulkhead.
+ * Bulkheads are created on first lookup and dropped after idle expiry (or over max size), so memory stays bounded
+ * however many owners are looked up; dropped bulkhead forgets its circuit state.
+ */
+@Component
+public class OwnerBulkheads {
+    public static final String BUCKETS = "${githubbrowser.bulkhead.buckets}";
+    public static final String MAX_SIZE = "${githubbrowser.bulkhead.max.size}";
+    public static final String IDLE_EXPIRY_SECONDS = "${githubbrowser.bulkhead.idle.expiry.seconds}";
+    public static final String MAX_CONCURRENT = "${githubbrowser.bulkhead.max.concurrent}";
+    public static final String CIRCUIT_MIN_REQUESTS = "${githubbrowser.bulkhead.circuit.min.requests}";
+    public static final String CIRCUIT_ERROR_THRESHOLD_PERCENTAGE = "${githubbrowser.bulkhead.circuit.error.threshold.percentage}";
+    public static final String CIRCUIT_WINDOW_SECONDS = "${githubbrowser.bulkhead.circuit.window.seconds}";
+    public static final String CIRCUIT_SLEEP_WINDOW_SECONDS = "${githubbrowser.bulkhead.circuit.sleep.window.seconds}";
+    private final Cache<String, Bulkhead> bulkheads;
+    private final int buckets;
+    private final Bulkhead.Settings settings;
+    private final Clock clock;
+
+    @Autowired
+    public OwnerBulkheads(
+            @Value(BUCKETS) int buckets,
+            @Value(MAX_SIZE) long maxSize,
+            @Value(IDLE_EXPIRY_SECONDS) int idleExpiryInSeconds,
+            @Value(MAX_CONCURRENT) int maxConcurrent,
+            @Value(CIRCUIT_MIN_REQUESTS) int minRequests,
+            @Value(CIRCUIT_ERROR_THRESHOLD_PERCENTAGE) int errorThresholdPercentage,
+            @Value(CIRCUIT_WINDOW_SECONDS) int windowInSeconds,
+            @Value(CIRCUIT_SLEEP_WINDOW_SECONDS) int sleepWindowInSeconds) {
+        this(buckets, maxSize, Duration.ofSeconds(idleExpiryInSeconds), Bulkhead.Settings.builder()
+                .maxConcurrent(maxConcurrent)
+                .minRequests(minRequests)
+                .errorThresholdPercentage(errorThresholdPercentage)
+                .window(Duration.ofSeconds(windowInSeconds))
+                .sleepWindow(Duration.ofSeconds(sleepWindowInSeconds))
+                .build(), Clock.systemUTC());
+    }
+
+    public OwnerBulkheads(int buckets, long maxSize, Duration idleExpiry, Bulkhead.Settings settings, Clock clock) {
+        this.buckets = buckets;
+        this.settings = settings;
+        this.clock = clock;
+        this.bulkheads = Caffeine.newBuilder()
+                .maximumSize(buckets > 0 ? buckets : maxSize)
+                .expireAfterAccess(idleExpiry.toMillis(), MILLISECONDS)
+                .build();
+    }
+
+    public Bulkhead of(String owner) {
+        return bulkheads.get(keyOf(owner), key -> new Bulkhead(key, settings, clock));
+    }
+
+    public Collection<Bulkhead> active() {
+        return bulkheads.asMap().values();
+    }
+
+    public long size() {
+        return bulkheads.estimatedSize();
+    }
+
+    private String keyOf(String owner) {
+        String normalized = owner.toLowerCase(Locale.ROOT);
+        if (buckets <= 0) {
+            return normalized;
+        }
+        int hash = normalized.hashCode() * 0x9E3779B9;
+        return "bucket" + Math.floorMod(hash ^ (hash >>> 16), buckets);
+    }
+}
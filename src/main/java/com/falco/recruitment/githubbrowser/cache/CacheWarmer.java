@@ -0,0 +1,270 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.Factory;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.integration.GithubTokenPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+
+/**
+ * Fetches repositories listed in warm-up file (one {@code owner/repository} per line, hottest first)
+ * through the repository finder chain once application is started.
+ * Lookups are started by a scheduler at even intervals, at most {@code concurrency} of them in flight, and stop once
+ * they spent their share of the Github rate limit as currently reported for all tokens (60 requests an hour when
+ * anonymous) or would eat into the rest of it. Repositories already fresh in cache (eg. read from cache file)
+ * are not fetched at all.
+ * Reported out of service on /health until warm-up finishes, so load balancer does not route traffic to cold node.
+ */
+@Slf4j
+@Component
+public class CacheWarmer extends AbstractHealthIndicator {
+    public static final String WARMUP_FILE = "${githubbrowser.warmup.file:}";
+    public static final String WARMUP_CONCURRENCY = "${githubbrowser.warmup.concurrency}";
+    public static final String WARMUP_REQUESTS_PER_SECOND = "${githubbrowser.warmup.requests.per.second}";
+    public static final String WARMUP_RATE_LIMIT_SHARE = "${githubbrowser.warmup.rate.limit.share}";
+    private final LongAdder found = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger spent = new AtomicInteger();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("warm-up-"));
+    private final RepositoryFinder repositoryFinder;
+    private final RepositoryCache repositoryCache;
+    private final GithubTokenPool tokenPool;
+    private final Executor executor;
+    private final String file;
+    private final int concurrency;
+    private final long intervalNanos;
+    private final double rateLimitShare;
+    private List<OwnerRepository> ownerRepositories;
+    private int next;
+    private boolean stopped;
+    private volatile int total;
+    private volatile long startedAt;
+    private volatile long elapsedMillis;
+    private volatile CompletableFuture<Void> done;
+
+    public CacheWarmer(
+            @Autowired RepositoryFinder repositoryFinder,
+            @Autowired RepositoryCache repositoryCache,
+            @Autowired GithubTokenPool tokenPool,
+            @Autowired @Qualifier(Factory.FAN_OUT_EXECUTOR) Executor executor,
+            @Value(WARMUP_FILE) String file,
+            @Value(WARMUP_CONCURRENCY) int concurrency,
+            @Value(WARMUP_REQUESTS_PER_SECOND) int requestsPerSecond,
+            @Value(WARMUP_RATE_LIMIT_SHARE) double rateLimitShare) {
+        this.repositoryFinder = repositoryFinder;
+        this.repositoryCache = repositoryCache;
+        this.tokenPool = tokenPool;
+        this.executor = executor;
+        this.file = file;
+        this.concurrency = concurrency;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        this.rateLimitShare = rateLimitShare;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp();
+    }
+
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (done != null) {
+            return done;
+        }
+        if (file.isEmpty()) {
+            done = CompletableFuture.completedFuture(null);
+            scheduler.shutdown();
+            return done;
+        }
+        try {
+            ownerRepositories = readKeys();
+        } catch (IOException e) {
+            LOG.error("Cache warm-up file '{}' can not be read, skipping warm-up", file, e);
+            done = CompletableFuture.completedFuture(null);
+            scheduler.shutdown();
+            return done;
+        }
+        total = ownerRepositories.size();
+        startedAt = System.nanoTime();
+        LOG.info("Warming up cache with {} repositories from '{}', Github budget {} of {} requests",
+                total, file, allowance(), tokenPool.limit());
+        done = new CompletableFuture<>();
+        done.whenComplete((result, e) -> {
+            elapsedMillis = elapsedMillis();
+            LOG.info("Cache warm-up finished in {} ms, found:{}, not found:{}, failed:{}, already cached:{}, not fetched:{}",
+                    elapsedMillis, found.sum(), notFound.sum(), failed.sum(), skipped.sum(), total - completed.get());
+        });
+        scheduler.scheduleAtFixedRate(this::startNext, 0, intervalNanos, TimeUnit.NANOSECONDS);
+        return done;
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        CompletableFuture<Void> warmUp = done;
+        if (warmUp == null || !warmUp.isDone()) {
+            builder.outOfService();
+        } else {
+            builder.up();
+        }
+        builder.withDetail("total", total)
+                .withDetail("completed", completed.get())
+                .withDetail("found", found.sum())
+                .withDetail("notFound", notFound.sum())
+                .withDetail("failed", failed.sum())
+                .withDetail("alreadyCached", skipped.sum())
+                .withDetail("elapsedMillis", warmUp != null && warmUp.isDone() ? elapsedMillis : elapsedMillis());
+    }
+
+    /**
+     * Runs on scheduler thread once per interval, starts at most one lookup, passing over repositories already fresh.
+     * Interval is left unused while all workers are busy.
+     */
+    private synchronized void startNext() {
+        if (stopped || inFlight.get() >= concurrency) {
+            return;
+        }
+        while (next < ownerRepositories.size()) {
+            OwnerRepository ownerRepository = ownerRepositories.get(next++);
+            if (isFresh(ownerRepository)) {
+                skipped.increment();
+                reportProgress(completed.incrementAndGet());
+            } else if (!withinBudget()) {
+                LOG.warn("Cache warm-up stopped at '{}', Github budget exhausted", ownerRepository);
+                break;
+            } else {
+                start(ownerRepository);
+                return;
+            }
+        }
+        stopped = true;
+        finishWhenIdle();
+    }
+
+    private void start(OwnerRepository ownerRepository) {
+        spent.incrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    warm(ownerRepository);
+                    reportProgress(completed.incrementAndGet());
+                } finally {
+                    inFlight.decrementAndGet();
+                    finishWhenIdle();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Cache warm-up of '{}' rejected", ownerRepository, e);
+            failed.increment();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private synchronized void finishWhenIdle() {
+        if (stopped && inFlight.get() == 0 && !done.isDone()) {
+            scheduler.shutdown();
+            done.complete(null);
+        }
+    }
+
+    /**
+     * Both limit and remaining requests are live figures of all tokens, updated from every Github response.
+     */
+    private boolean withinBudget() {
+        int limit = tokenPool.limit();
+        return spent.get() < allowance() && tokenPool.remaining() > limit - (int) (limit * rateLimitShare);
+    }
+
+    private int allowance() {
+        return (int) (tokenPool.limit() * rateLimitShare);
+    }
+
+    private boolean isFresh(OwnerRepository ownerRepository) {
+        return repositoryCache.get(ownerRepository)
+                .flatMap(repositoryCache::freshnessOf)
+                .filter(Freshness.FRESH::equals)
+                .isPresent();
+    }
+
+    private void warm(OwnerRepository ownerRepository) {
+        try {
+            if (repositoryFinder.tryFind(ownerRepository, ETag.NO_ETAG).isPresent()) {
+                found.increment();
+            } else {
+                notFound.increment();
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Cache warm-up of '{}' failed", ownerRepository, e);
+            failed.increment();
+        }
+    }
+
+    private void reportProgress(int completed) {
+        if (completed % Math.max(1, total / 10) == 0) {
+            LOG.info("Cache warm-up {}/{} repositories in {} ms", completed, total, elapsedMillis());
+        }
+    }
+
+    private long elapsedMillis() {
+        return startedAt == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private List<OwnerRepository> readKeys() throws IOException {
+        return Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(CacheWarmer::parseKey)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static Optional<OwnerRepository> parseKey(String line) {
+        String[] ownerRepository = line.split("/");
+        if (ownerRepository.length != 2 || ownerRepository[0].isEmpty() || ownerRepository[1].isEmpty()) {
+            LOG.warn("Skipping cache warm-up line '{}', expected owner/repository", line);
+            return Optional.empty();
+        }
+        return Optional.of(ownerRepository(ownerRepository[0], ownerRepository[1]));
+    }
+}
@@ -0,0 +1,12 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class CachedRepository {
+    private final Repository repository;
+    private final Instant fetchedAt;
+}
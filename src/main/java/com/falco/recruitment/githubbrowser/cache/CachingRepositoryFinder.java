@@ -0,0 +1,220 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.Factory;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryFinderStage;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.falco.recruitment.githubbrowser.ServedRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.falco.recruitment.githubbrowser.integration.CoalescingRepositoryFinder.COALESCING_ID;
+
+/**
+ * Serves repositories from {@link RepositoryCache}.
+ * Stale entries are served immediately and refreshed in background, expired entries are served
+ * only when Github lookup fails (eg. circuit is open, Github responds with 5xx or rate limit 403).
+ * Repositories served past max age are {@link ServedRepository#isStale()}, see {@link #tryServe(OwnerRepository, ETag)}.
+ * Cached entries are revalidated with conditional request, so unchanged repository costs Github only 304;
+ * so are entries of {@link RepositoryStore} too old to be served at all.
+ * Repositories recently not found are answered as missing without Github lookup.
+ */
+@Slf4j
+@Service(CachingRepositoryFinder.CACHING_ID)
+public class CachingRepositoryFinder implements RepositoryFinder, AsyncRepositoryFinder, RepositoryFinderStage {
+    public static final String CACHING_ID = "cachingRepositoryFinder";
+    private final Set<OwnerRepository> refreshing = ConcurrentHashMap.newKeySet();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder staleOnErrorServed = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final RepositoryCache repositoryCache;
+    private final RepositoryFinder repositoryFinder;
+    private final AsyncRepositoryFinder asyncRepositoryFinder;
+    private final Executor refreshExecutor;
+
+    public CachingRepositoryFinder(
+            @Autowired RepositoryCache repositoryCache,
+            @Autowired @Qualifier(COALESCING_ID) RepositoryFinder repositoryFinder,
+            @Autowired @Qualifier(COALESCING_ID) AsyncRepositoryFinder asyncRepositoryFinder,
+            @Autowired @Qualifier(Factory.FAN_OUT_EXECUTOR) Executor refreshExecutor) {
+        this.repositoryCache = repositoryCache;
+        this.repositoryFinder = repositoryFinder;
+        this.asyncRepositoryFinder = asyncRepositoryFinder;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
+        return tryServe(ownerRepository, eTag).map(ServedRepository::getRepository);
+    }
+
+    @Override
+    public Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag) {
+        return tryServe(ownerRepository, eTag, repositoryFinder);
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+        return tryServe(ownerRepository, eTag, next).map(ServedRepository::getRepository);
+    }
+
+    @Override
+    public Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+        Optional<CachedRepository> cached = repositoryCache.get(ownerRepository);
+        Optional<ServedRepository> servable = cached.flatMap(cachedRepository -> servable(ownerRepository, cachedRepository, next));
+        if (servable.isPresent()) {
+            return servable;
+        }
+        if (!cached.isPresent() && repositoryCache.isNotFound(ownerRepository)) {
+            return Optional.empty();
+        }
+        try {
+            return load(ownerRepository, revalidable(ownerRepository, cached), next).map(ServedRepository::fresh);
+        } catch (RuntimeException e) {
+            if (!cached.isPresent()) {
+                throw e;
+            }
+            return Optional.of(staleOnError(ownerRepository, cached.get(), e));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<Repository>> tryFindAsync(OwnerRepository ownerRepository, ETag eTag) {
+        return tryServeAsync(ownerRepository, eTag).thenApply(served -> served.map(ServedRepository::getRepository));
+    }
+
+    @Override
+    public CompletableFuture<Optional<ServedRepository>> tryServeAsync(OwnerRepository ownerRepository, ETag eTag) {
+        Optional<CachedRepository> cached = repositoryCache.get(ownerRepository);
+        Optional<ServedRepository> servable = cached.flatMap(cachedRepository -> servable(ownerRepository, cachedRepository, repositoryFinder));
+        if (servable.isPresent()) {
+            return CompletableFuture.completedFuture(servable);
+        }
+        if (!cached.isPresent() && repositoryCache.isNotFound(ownerRepository)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        Optional<CachedRepository> revalidable = revalidable(ownerRepository, cached);
+        return asyncRepositoryFinder.tryFindAsync(ownerRepository, revalidationETag(revalidable))
+                .thenApply(found -> store(ownerRepository, found).map(ServedRepository::fresh))
+                .exceptionally(e -> recover(ownerRepository, cached, revalidable, e));
+    }
+
+    public long staleServedCount() {
+        return staleServed.sum();
+    }
+
+    public long staleOnErrorServedCount() {
+        return staleOnErrorServed.sum();
+    }
+
+    public long revalidatedCount() {
+        return revalidated.sum();
+    }
+
+    private Optional<ServedRepository> servable(OwnerRepository ownerRepository, CachedRepository cachedRepository, RepositoryFinder next) {
+        switch (repositoryCache.freshnessOf(cachedRepository).orElse(Freshness.EXPIRED)) {
+            case FRESH:
+                LOG.trace("Returning cached repository for '{}'", ownerRepository);
+                return Optional.of(ServedRepository.fresh(cachedRepository.getRepository()));
+            case STALE:
+                LOG.trace("Returning stale repository for '{}', refreshing", ownerRepository);
+                staleServed.increment();
+                refreshInBackground(ownerRepository, cachedRepository, next);
+                return Optional.of(ServedRepository.stale(cachedRepository.getRepository()));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private ServedRepository staleOnError(OwnerRepository ownerRepository, CachedRepository cachedRepository, Throwable e) {
+        LOG.warn("Lookup of '{}' failed, returning stale repository fetched at {}", ownerRepository, cachedRepository.getFetchedAt(), e);
+        staleOnErrorServed.increment();
+        return ServedRepository.stale(cachedRepository.getRepository());
+    }
+
+    private Optional<ServedRepository> recover(OwnerRepository ownerRepository, Optional<CachedRepository> cached,
+                                               Optional<CachedRepository> revalidable, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RepositoryNotModifiedException && revalidable.isPresent()) {
+            return Optional.of(ServedRepository.fresh(revalidated(ownerRepository, revalidable.get())));
+        }
+        if (!cached.isPresent()) {
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        }
+        return Optional.of(staleOnError(ownerRepository, cached.get(), cause));
+    }
+
+    /**
+     * @param revalidable cached entry, or expired one from {@link RepositoryStore}, whose ETag is sent to Github
+     */
+    private Optional<Repository> load(OwnerRepository ownerRepository, Optional<CachedRepository> revalidable, RepositoryFinder next) {
+        try {
+            return store(ownerRepository, next.tryFind(ownerRepository, revalidationETag(revalidable)));
+        } catch (RepositoryNotModifiedException e) {
+            if (!revalidable.isPresent()) {
+                throw e;
+            }
+            return Optional.of(revalidated(ownerRepository, revalidable.get()));
+        }
+    }
+
+    private Optional<CachedRepository> revalidable(OwnerRepository ownerRepository, Optional<CachedRepository> cached) {
+        return cached.isPresent() ? cached : repositoryCache.getExpired(ownerRepository);
+    }
+
+    //ETag of cached entry is sent, not client's - Github 304 only extends cached entry, client's conditional GET is resolved by controller
+    private static ETag revalidationETag(Optional<CachedRepository> cached) {
+        return cached.map(cachedRepository -> cachedRepository.getRepository().getETag()).orElse(ETag.NO_ETAG);
+    }
+
+    private Repository revalidated(OwnerRepository ownerRepository, CachedRepository cachedRepository) {
+        LOG.trace("Repository '{}' not modified, extending cached entry", ownerRepository);
+        revalidated.increment();
+        return repositoryCache.put(ownerRepository, cachedRepository.getRepository()).getRepository();
+    }
+
+    private Optional<Repository> store(OwnerRepository ownerRepository, Optional<Repository> found) {
+        if (found.isPresent()) {
+            repositoryCache.put(ownerRepository, found.get());
+        } else {
+            repositoryCache.putNotFound(ownerRepository);
+        }
+        return found;
+    }
+
+    private void refreshInBackground(OwnerRepository ownerRepository, CachedRepository cachedRepository, RepositoryFinder next) {
+        OwnerRepository key = ownerRepository.normalized();
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(ownerRepository, Optional.of(cachedRepository), next);
+                } catch (RuntimeException e) {
+                    LOG.debug("Background refresh of '{}' failed", ownerRepository, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            LOG.debug("Background refresh of '{}' rejected", ownerRepository, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+public enum Freshness {
+    /**
+     * Younger than max age, served as is.
+     */
+    FRESH,
+    /**
+     * Within stale-while-revalidate window, served immediately while refreshed in background.
+     */
+    STALE,
+    /**
+     * Within stale-if-error window, served only when Github can not be reached.
+     */
+    EXPIRED
+}
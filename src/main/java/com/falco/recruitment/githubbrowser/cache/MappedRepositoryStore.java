@@ -0,0 +1,435 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Append only log of repository entries in a memory-mapped file of fixed size.
+ * <p>
+ * Every record is {@code [length][crc32][payload]} and its length is written last, so a record torn by a crash
+ * fails the checksum and is cut off together with everything after it when the file is opened again.
+ * The file is opened and scanned on first use, only positions of entries are kept on heap and entries
+ * themselves are decoded from the mapping when looked up.
+ * When the file is full live entries are copied to a new file, newest first up to three quarters of its size,
+ * which then atomically replaces the old one, old mapping is released right away.
+ * <p>
+ * Lookups, appends and metrics share a read lock, so lookups decode entries concurrently; appends only take turns
+ * to copy their already encoded record into the mapping. Opening, compaction and closing take the write lock.
+ */
+@Slf4j
+public class MappedRepositoryStore implements RepositoryStore, Closeable {
+    private static final int MAGIC = 0x47425253;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int END_MARKER_SIZE = 4;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private final Path path;
+    private final Path compactingPath;
+    private final int capacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+    private ConcurrentMap<OwnerRepository, Slot> index = new ConcurrentHashMap<>();
+    private MappedByteBuffer buffer;
+    private volatile int writePosition;
+    private volatile long compactions;
+    private volatile boolean opened;
+
+    public MappedRepositoryStore(Path path, int capacity) {
+        if (capacity < FILE_HEADER_SIZE + RECORD_HEADER_SIZE + END_MARKER_SIZE) {
+            throw new IllegalArgumentException("Repository cache file size too small: " + capacity);
+        }
+        this.path = path.toAbsolutePath();
+        this.compactingPath = this.path.resolveSibling(this.path.getFileName() + ".compacting");
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Optional<CachedRepository> load(OwnerRepository ownerRepository) {
+        if (!lockShared()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(index.get(ownerRepository))
+                    .map(slot -> decode(slot.getPosition()).getCachedRepository());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(OwnerRepository ownerRepository, CachedRepository cachedRepository) {
+        long fetchedAt = cachedRepository.getFetchedAt().toEpochMilli();
+        append(ownerRepository, encode(PUT, ownerRepository, cachedRepository), position -> new Slot(position, fetchedAt));
+    }
+
+    @Override
+    public void remove(OwnerRepository ownerRepository) {
+        append(ownerRepository, encode(REMOVE, ownerRepository, null), null);
+    }
+
+    @Override
+    public long size() {
+        if (!lockShared()) {
+            return 0;
+        }
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long usedBytes() {
+        if (!lockShared()) {
+            return 0;
+        }
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long compactionCount() {
+        return compactions;
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+                unmap(buffer);
+                buffer = null;
+            }
+            opened = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Opens file on first use.
+     *
+     * @return true with read lock held, false without it when file is not available
+     */
+    private boolean lockShared() {
+        if (!opened) {
+            lock.writeLock().lock();
+            try {
+                open();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        if (buffer == null) {
+            lock.readLock().unlock();
+            return false;
+        }
+        return true;
+    }
+
+    private void open() {
+        if (opened) {
+            return;
+        }
+        opened = true;
+        try {
+            Files.createDirectories(path.getParent());
+            Files.deleteIfExists(compactingPath);
+            buffer = map(path);
+            if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+                writePosition = scan();
+                LOG.info("Opened repository cache file '{}' with {} entries", path, index.size());
+            } else {
+                if (buffer.getInt(0) != 0) {
+                    LOG.warn("Unrecognized repository cache file '{}', starting empty", path);
+                }
+                buffer.putInt(FILE_HEADER_SIZE, 0);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                writePosition = FILE_HEADER_SIZE;
+            }
+        } catch (IOException e) {
+            LOG.error("Repository cache file '{}' can not be opened, entries will not be persisted", path, e);
+            buffer = null;
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(capacity);
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    private int scan() {
+        int position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > capacity - position - RECORD_HEADER_SIZE
+                    || crc(buffer, position + RECORD_HEADER_SIZE, length) != buffer.getInt(position + 4)) {
+                LOG.warn("Discarding torn records of repository cache file '{}' from position {}", path, position);
+                buffer.putInt(position, 0);
+                break;
+            }
+            Record record = decode(position);
+            if (record.getCachedRepository() != null) {
+                index.put(record.getOwnerRepository(), new Slot(position, record.getCachedRepository().getFetchedAt().toEpochMilli()));
+            } else {
+                index.remove(record.getOwnerRepository());
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    /**
+     * Appends record and updates index entry of its repository together, so index follows log order of every repository.
+     * Record which does not fit is appended after compaction, if it does not fit even then repository is dropped.
+     *
+     * @param slotAt slot of appended record, null for removal which is skipped when repository is not stored
+     */
+    private void append(OwnerRepository ownerRepository, byte[] payload, IntFunction<Slot> slotAt) {
+        int crc = crc(ByteBuffer.wrap(payload), 0, payload.length);
+        int required = RECORD_HEADER_SIZE + payload.length + END_MARKER_SIZE;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (!lockShared()) {
+                return;
+            }
+            try {
+                synchronized (appendLock) {
+                    if (slotAt == null && !index.containsKey(ownerRepository)) {
+                        return;
+                    }
+                    if (writePosition + required <= capacity) {
+                        int position = writePosition;
+                        write(buffer, position, payload, crc);
+                        writePosition = position + RECORD_HEADER_SIZE + payload.length;
+                        if (slotAt == null) {
+                            index.remove(ownerRepository);
+                        } else {
+                            index.put(ownerRepository, slotAt.apply(position));
+                        }
+                        return;
+                    }
+                    if (attempt > 0) {
+                        LOG.warn("Repository cache file '{}' is full, record of {} bytes not persisted", path, payload.length);
+                        index.remove(ownerRepository);
+                        return;
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            compact(required);
+        }
+    }
+
+    private static void write(ByteBuffer target, int position, byte[] payload, int crc) {
+        ByteBuffer record = target.duplicate();
+        record.position(position + 4);
+        record.putInt(crc);
+        record.put(payload);
+        record.putInt(0);
+        target.putInt(position, payload.length);
+    }
+
+    /**
+     * Compacts under write lock, unless other append already made room for record.
+     */
+    private void compact(int required) {
+        lock.writeLock().lock();
+        try {
+            if (buffer != null && writePosition + required > capacity) {
+                compactLocked(required);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactLocked(int required) {
+        int budget = Math.min(capacity / 4 * 3, capacity - FILE_HEADER_SIZE - required);
+        List<Map.Entry<OwnerRepository, Slot>> newestFirst = new ArrayList<>(index.entrySet());
+        newestFirst.sort(Comparator.comparingLong((Map.Entry<OwnerRepository, Slot> entry) -> entry.getValue().getFetchedAt()).reversed());
+        MappedByteBuffer compacted = null;
+        try {
+            compacted = map(compactingPath);
+            ConcurrentMap<OwnerRepository, Slot> compactedIndex = new ConcurrentHashMap<>();
+            int position = FILE_HEADER_SIZE;
+            for (Map.Entry<OwnerRepository, Slot> entry : newestFirst) {
+                int size = RECORD_HEADER_SIZE + buffer.getInt(entry.getValue().getPosition());
+                if (position - FILE_HEADER_SIZE + size > budget) {
+                    break;
+                }
+                ByteBuffer record = buffer.duplicate();
+                record.position(entry.getValue().getPosition()).limit(entry.getValue().getPosition() + size);
+                compacted.position(position);
+                compacted.put(record);
+                compactedIndex.put(entry.getKey(), new Slot(position, entry.getValue().getFetchedAt()));
+                position += size;
+            }
+            compacted.putInt(position, 0);
+            compacted.putInt(0, MAGIC);
+            compacted.putInt(4, VERSION);
+            compacted.force();
+            Files.move(compactingPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+            LOG.info("Compacted repository cache file '{}' from {} to {} bytes, dropped {} of {} entries",
+                    path, writePosition, position, index.size() - compactedIndex.size(), index.size());
+            unmap(buffer);
+            buffer = compacted;
+            index = compactedIndex;
+            writePosition = position;
+            compactions++;
+        } catch (IOException e) {
+            LOG.warn("Compaction of repository cache file '{}' failed", path, e);
+            if (compacted != null) {
+                unmap(compacted);
+            }
+        }
+    }
+
+    /**
+     * Releases mapping without waiting for buffer to be garbage collected, which for a long lived old generation
+     * buffer could keep every replaced file mapped. Buffer must not be accessed afterwards.
+     */
+    private static void unmap(MappedByteBuffer mapped) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), mapped);
+            } catch (NoSuchMethodException beforeJava9) {
+                Method cleanerMethod = mapped.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(mapped);
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Mapping could not be released, left to garbage collector", e);
+        }
+    }
+
+    private static int crc(ByteBuffer source, int position, int length) {
+        ByteBuffer bytes = source.duplicate();
+        bytes.position(position).limit(position + length);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(byte type, OwnerRepository ownerRepository, CachedRepository cachedRepository) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            out.writeUTF(ownerRepository.getOwner());
+            out.writeUTF(ownerRepository.getRepository());
+            if (type == PUT) {
+                Repository repository = cachedRepository.getRepository();
+                out.writeLong(cachedRepository.getFetchedAt().toEpochMilli());
+                out.writeUTF(repository.getOwner());
+                out.writeUTF(repository.getName());
+                writeNullable(out, repository.getFullName());
+                writeNullable(out, repository.getDescription());
+                writeNullable(out, repository.getCloneUrl());
+                out.writeInt(repository.getStars());
+                out.writeBoolean(repository.getCreatedAt() != null);
+                if (repository.getCreatedAt() != null) {
+                    out.writeLong(repository.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+                    out.writeInt(repository.getCreatedAt().getNano());
+                }
+                writeNullable(out, ETag.NO_ETAG.equals(repository.getETag()) ? null : repository.getETag().toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Record decode(int position) {
+        byte[] payload = new byte[buffer.getInt(position)];
+        ByteBuffer record = buffer.duplicate();
+        record.position(position + RECORD_HEADER_SIZE);
+        record.get(payload);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte type = in.readByte();
+            OwnerRepository ownerRepository = OwnerRepository.ownerRepository(in.readUTF(), in.readUTF());
+            if (type == REMOVE) {
+                return new Record(ownerRepository, null);
+            }
+            Instant fetchedAt = Instant.ofEpochMilli(in.readLong());
+            Repository.RepositoryBuilder repository = Repository.builder()
+                    .owner(in.readUTF())
+                    .name(in.readUTF())
+                    .fullName(readNullable(in))
+                    .description(readNullable(in))
+                    .cloneUrl(readNullable(in))
+                    .stars(in.readInt());
+            if (in.readBoolean()) {
+                repository.createdAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+            }
+            repository.eTag(ETag.from(readNullable(in)));
+            return new Record(ownerRepository, new CachedRepository(repository.build(), fetchedAt));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    @Value
+    private static class Slot {
+        private final int position;
+        private final long fetchedAt;
+    }
+
+    @Value
+    private static class Record {
+        private final OwnerRepository ownerRepository;
+        private final CachedRepository cachedRepository;
+    }
+}
@@ -0,0 +1,143 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Repositories Github answered with 404, kept for short time so repeated lookups of missing repositories
+ * (scanners, mistyped links) do not spend rate limit.
+ * Repository is cached only when it is not found second time within filter window: first misses only set bits
+ * in a fixed size Bloom filter, so flood of distinct bogus keys does not take entries from repeatedly missed ones.
+ * Filter is cleared once it saw configured number of keys, which keeps its false positive rate low.
+ * Keys are expected to be normalized by {@link RepositoryCache}.
+ */
+@Component
+public class NotFoundCache {
+    public static final NotFoundCache NONE = new NotFoundCache(Duration.ZERO, 0, 0, Clock.systemUTC());
+    public static final String NOT_FOUND_TTL_SECONDS = "${githubbrowser.repositories.cache.not.found.ttl.seconds}";
+    public static final String NOT_FOUND_MAX_SIZE = "${githubbrowser.repositories.cache.not.found.max.size}";
+    public static final String NOT_FOUND_FILTER_SIZE = "${githubbrowser.repositories.cache.not.found.filter.size}";
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+    private final Cache<OwnerRepository, Boolean> cache;
+    private final Doorkeeper doorkeeper;
+    private final boolean enabled;
+
+    @Autowired
+    public NotFoundCache(
+            @Value(NOT_FOUND_TTL_SECONDS) int ttlInSeconds,
+            @Value(NOT_FOUND_MAX_SIZE) long maxSize,
+            @Value(NOT_FOUND_FILTER_SIZE) int filterSize) {
+        this(Duration.ofSeconds(ttlInSeconds), maxSize, filterSize, Clock.systemUTC());
+    }
+
+    /**
+     * @param filterSize distinct keys seen by filter before it is cleared, 0 caches every not found repository
+     */
+    public NotFoundCache(Duration ttl, long maxSize, int filterSize, Clock clock) {
+        this.enabled = maxSize > 0 && !ttl.isZero();
+        this.doorkeeper = filterSize > 0 ? new Doorkeeper(filterSize) : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl.toMillis(), MILLISECONDS)
+                .ticker(() -> MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    public boolean contains(OwnerRepository key) {
+        if (!enabled || cache.getIfPresent(key) == null) {
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    public void put(OwnerRepository key) {
+        if (!enabled) {
+            return;
+        }
+        if (doorkeeper != null && !doorkeeper.addIfAbsent(key)) {
+            filtered.increment();
+            return;
+        }
+        cache.put(key, Boolean.TRUE);
+    }
+
+    public void invalidate(OwnerRepository key) {
+        if (enabled) {
+            cache.invalidate(key);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return not found repositories left out of cache as seen for the first time
+     */
+    public long filteredCount() {
+        return filtered.sum();
+    }
+
+    /**
+     * Bloom filter over lock-free bit array, about 1% false positives with 10 bits and 4 hashes per key.
+     */
+    private static class Doorkeeper {
+        private static final int BITS_PER_KEY = 10;
+        private static final int HASHES = 4;
+        private final AtomicLongArray bits;
+        private final AtomicInteger added = new AtomicInteger();
+        private final int capacity;
+        private final int mask;
+
+        private Doorkeeper(int capacity) {
+            this.capacity = capacity;
+            int words = Integer.highestOneBit(Math.max(1, (int) Math.min((long) capacity * BITS_PER_KEY / Long.SIZE, 1 << 20)) * 2 - 1);
+            this.bits = new AtomicLongArray(words);
+            this.mask = words * Long.SIZE - 1;
+        }
+
+        /**
+         * @return whether key was (probably) added before
+         */
+        private boolean addIfAbsent(Object key) {
+            int hash = key.hashCode() * 0x9E3779B9;
+            int step = Integer.rotateLeft(key.hashCode() * 0x85EBCA6B, 16) | 1;
+            boolean present = true;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (hash + i * step) & mask;
+                long flag = 1L << bit;
+                long word = bits.getAndAccumulate(bit >>> 6, flag, (current, set) -> current | set);
+                present &= (word & flag) != 0;
+            }
+            if (!present && added.incrementAndGet() >= capacity) {
+                clear();
+            }
+            return present;
+        }
+
+        private void clear() {
+            added.set(0);
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheWriter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.falco.recruitment.githubbrowser.RepositoriesController.REPOSITORIES_CACHE_MAX_AGE_SECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Bounded in-process cache of already mapped repositories.
+ * Eviction is frequency aware (W-TinyLFU) so a scan of cold repositories does not flush hot ones.
+ * Entries are kept past max age for stale-while-revalidate and stale-if-error windows, see {@link Freshness}.
+ * Keys are normalized as Github treats owner and repository names case insensitively.
+ * Entries are written through to {@link RepositoryStore}, which is consulted on miss so a restarted node
+ * starts with repositories fetched before restart.
+ * Repositories not found on Github are kept separately in {@link NotFoundCache}, storing repository clears its not found entry.
+ * Every change of entries, evictions included, is passed on to registered {@link RepositoryCacheListener}s.
+ */
+@Component
+public class RepositoryCache {
+    public static final String REPOSITORIES_CACHE_MAX_SIZE = "${githubbrowser.repositories.cache.max.size}";
+    public static final String STALE_WHILE_REVALIDATE_SECONDS = "${githubbrowser.repositories.cache.stale.while.revalidate.seconds}";
+    public static final String STALE_IF_ERROR_SECONDS = "${githubbrowser.repositories.cache.stale.if.error.seconds}";
+    private final Cache<OwnerRepository, CachedRepository> cache;
+    private final LongAdder storeHits = new LongAdder();
+    private final List<RepositoryCacheListener> listeners = new CopyOnWriteArrayList<>();
+    private final RepositoryStore store;
+    private final NotFoundCache notFound;
+    private final Clock clock;
+    private final Duration maxAge;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleIfError;
+
+    @Autowired
+    public RepositoryCache(
+            @Value(REPOSITORIES_CACHE_MAX_SIZE) long maxSize,
+            @Value(REPOSITORIES_CACHE_MAX_AGE_SECONDS) int maxAgeInSeconds,
+            @Value(STALE_WHILE_REVALIDATE_SECONDS) int staleWhileRevalidateInSeconds,
+            @Value(STALE_IF_ERROR_SECONDS) int staleIfErrorInSeconds,
+            @Autowired RepositoryStore store,
+            @Autowired NotFoundCache notFound) {
+        this(maxSize, Duration.ofSeconds(maxAgeInSeconds), Duration.ofSeconds(staleWhileRevalidateInSeconds),
+                Duration.ofSeconds(staleIfErrorInSeconds), store, notFound, Clock.systemUTC());
+    }
+
+    public RepositoryCache(long maxSize, Duration maxAge, Duration staleWhileRevalidate, Duration staleIfError,
+                           RepositoryStore store, NotFoundCache notFound, Clock clock) {
+        this.store = store;
+        this.notFound = notFound;
+        this.clock = clock;
+        this.maxAge = maxAge;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleIfError = staleIfError;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxAge.plus(max(staleWhileRevalidate, staleIfError)).toMillis(), MILLISECONDS)
+                .ticker(() -> MILLISECONDS.toNanos(clock.millis()))
+                .writer(new ListenersWriter())
+                .recordStats()
+                .build();
+    }
+
+    public void addListener(RepositoryCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return entry which is at least usable on error
+     */
+    public Optional<CachedRepository> get(OwnerRepository ownerRepository) {
+        OwnerRepository key = key(ownerRepository);
+        CachedRepository cachedRepository = cache.getIfPresent(key);
+        if (cachedRepository == null) {
+            cachedRepository = store.load(key)
+                    .filter(stored -> freshnessOf(stored).isPresent())
+                    .orElse(null);
+            if (cachedRepository != null) {
+                storeHits.increment();
+                cache.put(key, cachedRepository);
+            }
+        }
+        return Optional.ofNullable(cachedRepository)
+                .filter(servable -> freshnessOf(servable).isPresent());
+    }
+
+    /**
+     * @return entry kept by {@link RepositoryStore} (eg. over long downtime) which is too old to be served even on error,
+     * but can still be revalidated with its ETag
+     */
+    public Optional<CachedRepository> getExpired(OwnerRepository ownerRepository) {
+        return store.load(key(ownerRepository))
+                .filter(stored -> !freshnessOf(stored).isPresent());
+    }
+
+    public CachedRepository put(OwnerRepository ownerRepository, Repository repository) {
+        OwnerRepository key = key(ownerRepository);
+        CachedRepository cachedRepository = new CachedRepository(repository, clock.instant());
+        cache.put(key, cachedRepository);
+        store.save(key, cachedRepository);
+        notFound.invalidate(key);
+        return cachedRepository;
+    }
+
+    public void invalidate(OwnerRepository ownerRepository) {
+        OwnerRepository key = key(ownerRepository);
+        cache.invalidate(key);
+        store.remove(key);
+    }
+
+    /**
+     * Drops cached repository and remembers that Github does not know it.
+     */
+    public void putNotFound(OwnerRepository ownerRepository) {
+        invalidate(ownerRepository);
+        notFound.put(key(ownerRepository));
+    }
+
+    public boolean isNotFound(OwnerRepository ownerRepository) {
+        return notFound.contains(key(ownerRepository));
+    }
+
+    /**
+     * @return empty when entry is too old to be served at all
+     */
+    public Optional<Freshness> freshnessOf(CachedRepository cachedRepository) {
+        Duration age = Duration.between(cachedRepository.getFetchedAt(), clock.instant());
+        if (age.compareTo(maxAge) <= 0) {
+            return Optional.of(Freshness.FRESH);
+        }
+        Duration staleness = age.minus(maxAge);
+        if (staleness.compareTo(staleWhileRevalidate) <= 0) {
+            return Optional.of(Freshness.STALE);
+        }
+        if (staleness.compareTo(staleIfError) <= 0) {
+            return Optional.of(Freshness.EXPIRED);
+        }
+        return Optional.empty();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long storeSize() {
+        return store.size();
+    }
+
+    /**
+     * @return misses of in-process cache served from {@link RepositoryStore}
+     */
+    public long storeHitCount() {
+        return storeHits.sum();
+    }
+
+    /**
+     * Called by Caffeine atomically with the entry change, so listeners see changes of one key in order.
+     */
+    private class ListenersWriter implements CacheWriter<OwnerRepository, CachedRepository> {
+        @Override
+        public void write(OwnerRepository key, CachedRepository value) {
+            for (RepositoryCacheListener listener : listeners) {
+                listener.onPut(key, value.getRepository());
+            }
+        }
+
+        @Override
+        public void delete(OwnerRepository key, CachedRepository value, RemovalCause cause) {
+            for (RepositoryCacheListener listener : listeners) {
+                listener.onRemoval(key, value.getRepository());
+            }
+        }
+    }
+
+    private static OwnerRepository key(OwnerRepository ownerRepository) {
+        return ownerRepository.normalized();
+    }
+
+    private static Duration max(Duration duration1, Duration duration2) {
+        return duration1.compareTo(duration2) >= 0 ? duration1 : duration2;
+    }
+}
@@ -0,0 +1,17 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+
+/**
+ * Told about every change of {@link RepositoryCache} entries: repositories fetched, revalidated, read from
+ * {@link RepositoryStore}, invalidated and evicted.
+ * Called synchronously by the thread changing the entry, so it must be quick and must not call back into the cache.
+ * Calls for one key are made atomically with the entry change and never overlap, calls for different keys may run concurrently.
+ * Keys are normalized.
+ */
+public interface RepositoryCacheListener {
+    void onPut(OwnerRepository key, Repository repository);
+
+    void onRemoval(OwnerRepository key, Repository repository);
+}
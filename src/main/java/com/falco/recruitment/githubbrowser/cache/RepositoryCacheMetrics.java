@@ -0,0 +1,46 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@Component
+public class RepositoryCacheMetrics implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.cache.repositories.";
+    private final RepositoryCache repositoryCache;
+    private final NotFoundCache notFoundCache;
+    private final CachingRepositoryFinder cachingRepositoryFinder;
+
+    public RepositoryCacheMetrics(
+            @Autowired RepositoryCache repositoryCache,
+            @Autowired NotFoundCache notFoundCache,
+            @Autowired CachingRepositoryFinder cachingRepositoryFinder) {
+        this.repositoryCache = repositoryCache;
+        this.notFoundCache = notFoundCache;
+        this.cachingRepositoryFinder = cachingRepositoryFinder;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        CacheStats stats = repositoryCache.stats();
+        return Arrays.<Metric<?>>asList(
+                new Metric<>(PREFIX + "size", repositoryCache.size()),
+                new Metric<>(PREFIX + "hit", stats.hitCount()),
+                new Metric<>(PREFIX + "miss", stats.missCount()),
+                new Metric<>(PREFIX + "eviction", stats.evictionCount()),
+                new Metric<>(PREFIX + "hit.ratio", stats.hitRate()),
+                new Metric<>(PREFIX + "stale", cachingRepositoryFinder.staleServedCount()),
+                new Metric<>(PREFIX + "stale.on.error", cachingRepositoryFinder.staleOnErrorServedCount()),
+                new Metric<>(PREFIX + "revalidated", cachingRepositoryFinder.revalidatedCount()),
+                new Metric<>(PREFIX + "file.size", repositoryCache.storeSize()),
+                new Metric<>(PREFIX + "file.hit", repositoryCache.storeHitCount()),
+                new Metric<>(PREFIX + "not.found.size", notFoundCache.size()),
+                new Metric<>(PREFIX + "not.found.hit", notFoundCache.hitCount()),
+                new Metric<>(PREFIX + "not.found.filtered", notFoundCache.filteredCount()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.falco.recruitment.githubbrowser.cache;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+
+import java.util.Optional;
+
+/**
+ * Second tier of {@link RepositoryCache} which outlives the process.
+ * Keys are already normalized by the cache.
+ */
+public interface RepositoryStore {
+    RepositoryStore NONE = new RepositoryStore() {
+        @Override
+        public Optional<CachedRepository> load(OwnerRepository ownerRepository) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void save(OwnerRepository ownerRepository, CachedRepository cachedRepository) {
+        }
+
+        @Override
+        public void remove(OwnerRepository ownerRepository) {
+        }
+
+        @Override
+        public long size() {
+            return 0;
+        }
+    };
+
+    Optional<CachedRepository> load(OwnerRepository ownerRepository);
+
+    void save(OwnerRepository ownerRepository, CachedRepository cachedRepository);
+
+    void remove(OwnerRepository ownerRepository);
+
+    long size();
+}
@@ -0,0 +1,51 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryExtractor.addHeaders;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.GITHUB_REPOSITORIES_URL;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.eTagEntity;
+
+/**
+ * Calls Github on caller thread through caching {@link RestTemplate}, returned future is always completed.
+ */
+@Service
+@ConditionalOnProperty(name = GithubTransport.GITHUB_TRANSPORT, havingValue = "blocking", matchIfMissing = true)
+public class BlockingGithubTransport implements GithubTransport {
+    private final String githubReposUrl;
+    private final RestTemplate cachingRestTemplate;
+    private final GithubRepositoryExtractor extractor;
+
+    public BlockingGithubTransport(
+            @Value(GITHUB_REPOSITORIES_URL) String githubReposUrl,
+            @Autowired RestTemplate cachingRestTemplate) {
+        this.githubReposUrl = githubReposUrl;
+        this.cachingRestTemplate = cachingRestTemplate;
+        this.extractor = new GithubRepositoryExtractor(cachingRestTemplate.getMessageConverters());
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<GithubRepository>> getRepository(OwnerRepository ownerRepository, ETag eTag) {
+        CompletableFuture<ResponseEntity<GithubRepository>> response = new CompletableFuture<>();
+        try {
+            HttpHeaders eTagHeaders = eTagEntity(eTag).getHeaders();
+            response.complete(cachingRestTemplate.execute(
+                    githubReposUrl, HttpMethod.GET, request -> addHeaders(request.getHeaders(), eTagHeaders), extractor,
+                    ownerRepository.getOwner(), ownerRepository.getRepository()));
+        } catch (RuntimeException e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,37 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Waiters are published only as totals over keys with a lookup in flight - metric names do not depend on
+ * requested repositories, so clients cannot grow the metric set.
+ */
+@Component
+public class CoalescingMetrics implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.coalescing.";
+    private final CoalescingRepositoryFinder coalescingRepositoryFinder;
+
+    public CoalescingMetrics(@Autowired CoalescingRepositoryFinder coalescingRepositoryFinder) {
+        this.coalescingRepositoryFinder = coalescingRepositoryFinder;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        Map<OwnerRepository, Integer> waiters = coalescingRepositoryFinder.waiters();
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(PREFIX + "coalesced", coalescingRepositoryFinder.coalescedCount()));
+        metrics.add(new Metric<>(PREFIX + "inflight", waiters.size()));
+        metrics.add(new Metric<>(PREFIX + "waiters", waiters.values().stream().mapToInt(Integer::intValue).sum()));
+        metrics.add(new Metric<>(PREFIX + "waiters.max", waiters.values().stream().mapToInt(Integer::intValue).max().orElse(0)));
+        return metrics;
+    }
+}
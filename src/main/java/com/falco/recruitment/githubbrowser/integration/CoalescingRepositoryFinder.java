@@ -0,0 +1,145 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryFinderStage;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static com.falco.recruitment.githubbrowser.bulkhead.BulkheadRepositoryFinder.BULKHEAD_ID;
+
+/**
+ * Lets only one lookup per repository (and ETag) be in flight.
+ * Concurrent callers for the same key wait for the leading call and share its result or error.
+ * Blocking and asynchronous lookups share in-flight calls.
+ */
+@Slf4j
+@Service(CoalescingRepositoryFinder.COALESCING_ID)
+public class CoalescingRepositoryFinder implements RepositoryFinder, AsyncRepositoryFinder, RepositoryFinderStage {
+    public static final String COALESCING_ID = "coalescingRepositoryFinder";
+    private final ConcurrentMap<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final RepositoryFinder repositoryFinder;
+    private final AsyncRepositoryFinder asyncRepositoryFinder;
+
+    public CoalescingRepositoryFinder(
+            @Autowired @Qualifier(BULKHEAD_ID) RepositoryFinder repositoryFinder,
+            @Autowired @Qualifier(BULKHEAD_ID) AsyncRepositoryFinder asyncRepositoryFinder) {
+        this.repositoryFinder = repositoryFinder;
+        this.asyncRepositoryFinder = asyncRepositoryFinder;
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
+        return tryFind(ownerRepository, eTag, repositoryFinder);
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+        Key key = new Key(ownerRepository.normalized(), eTag);
+        InFlight leader = new InFlight();
+        InFlight current = inFlight.putIfAbsent(key, leader);
+        if (current != null) {
+            LOG.trace("Joining in-flight lookup of '{}'", ownerRepository);
+            coalesced.increment();
+            return current.await();
+        }
+        try {
+            Optional<Repository> repository = next.tryFind(ownerRepository, eTag);
+            leader.result.complete(repository);
+            return repository;
+        } catch (RuntimeException | Error e) {
+            leader.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<Repository>> tryFindAsync(OwnerRepository ownerRepository, ETag eTag) {
+        Key key = new Key(ownerRepository.normalized(), eTag);
+        InFlight leader = new InFlight();
+        InFlight current = inFlight.putIfAbsent(key, leader);
+        if (current != null) {
+            LOG.trace("Joining asynchronously in-flight lookup of '{}'", ownerRepository);
+            coalesced.increment();
+            return current.join();
+        }
+        try {
+            asyncRepositoryFinder.tryFindAsync(ownerRepository, eTag).whenComplete((repository, e) -> {
+                inFlight.remove(key, leader);
+                if (e != null) {
+                    leader.result.completeExceptionally(e);
+                } else {
+                    leader.result.complete(repository);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, leader);
+            leader.result.completeExceptionally(e);
+        }
+        //the leader's caller gets a dependent copy too, so cancelling or completing it leaves the waiters untouched
+        return leader.result.thenApply(Function.identity());
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public Map<OwnerRepository, Integer> waiters() {
+        Map<OwnerRepository, Integer> waiters = new HashMap<>();
+        inFlight.forEach((key, call) -> waiters.merge(key.getOwnerRepository(), call.waiters.get(), Integer::sum));
+        return waiters;
+    }
+
+    @Value
+    private static class Key {
+        private final OwnerRepository ownerRepository;
+        private final ETag eTag;
+    }
+
+    private static class InFlight {
+        private final CompletableFuture<Optional<Repository>> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        private Optional<Repository> await() {
+            waiters.incrementAndGet();
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+
+        private CompletableFuture<Optional<Repository>> join() {
+            waiters.incrementAndGet();
+            return result.whenComplete((repository, e) -> waiters.decrementAndGet());
+        }
+    }
+}
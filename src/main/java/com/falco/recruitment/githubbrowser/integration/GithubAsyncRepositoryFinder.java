@@ -0,0 +1,55 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.GITHUB_REPOSITORIES_URL;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.toRepository;
+
+/**
+ * Calls Github over non-blocking http client ({@link NioGithubTransport}) regardless of github.transport.
+ * Responses are completed on client I/O threads.
+ */
+@Service(GithubAsyncRepositoryFinder.GITHUB_ASYNC_REPOSITORY_FINDER)
+public class GithubAsyncRepositoryFinder implements AsyncRepositoryFinder {
+    public static final String GITHUB_ASYNC_REPOSITORY_FINDER = "githubAsyncRepositoryFinder";
+    private final GithubTransport transport;
+
+    @Autowired
+    public GithubAsyncRepositoryFinder(
+            @Value(GITHUB_REPOSITORIES_URL) String githubReposUrl,
+            @Autowired AsyncRestTemplate asyncRestTemplate,
+            @Autowired GithubTokenPool tokenPool) {
+        this(new NioGithubTransport(githubReposUrl, asyncRestTemplate, tokenPool));
+    }
+
+    public GithubAsyncRepositoryFinder(GithubTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Repository>> tryFindAsync(OwnerRepository ownerRepository, ETag eTag) {
+        CompletableFuture<Optional<Repository>> repository = new CompletableFuture<>();
+        transport.getRepository(ownerRepository, eTag).whenComplete((githubResponse, e) -> {
+            if (e != null) {
+                repository.completeExceptionally(e);
+                return;
+            }
+            try {
+                repository.complete(toRepository(ownerRepository, eTag, githubResponse));
+            } catch (RuntimeException mappingFailure) {
+                repository.completeExceptionally(mappingFailure);
+            }
+        });
+        return repository;
+    }
+}
@@ -0,0 +1,41 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads repository only from successful Github responses. Bodies of other responses (json with error message only,
+ * eg. of 404 or 403) are not parsed, response is returned with its status and headers for finder to map.
+ */
+class GithubRepositoryExtractor implements ResponseExtractor<ResponseEntity<GithubRepository>> {
+    private final HttpMessageConverterExtractor<GithubRepository> bodyExtractor;
+
+    GithubRepositoryExtractor(List<HttpMessageConverter<?>> messageConverters) {
+        this.bodyExtractor = new HttpMessageConverterExtractor<>(GithubRepository.class, messageConverters);
+    }
+
+    @Override
+    public ResponseEntity<GithubRepository> extractData(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return new ResponseEntity<>(bodyExtractor.extractData(response), response.getHeaders(), response.getStatusCode());
+        }
+        return new ResponseEntity<>(response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * Conditional request headers of {@link GithubRepositoryFinder#eTagEntity} with json accepted.
+     */
+    static void addHeaders(HttpHeaders requestHeaders, HttpHeaders eTagHeaders) {
+        requestHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        requestHeaders.putAll(eTagHeaders);
+    }
+}
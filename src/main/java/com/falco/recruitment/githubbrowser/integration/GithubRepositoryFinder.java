@@ -1,63 +1,89 @@
 package com.falco.recruitment.githubbrowser.integration;
 
 import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
 import com.falco.recruitment.githubbrowser.Repository;
 import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.rest.webmvc.support.ETag;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service(GithubRepositoryFinder.GITHUB_REPOSITORY_FINDER)
 public class GithubRepositoryFinder implements RepositoryFinder {
     public static final String GITHUB_REPOSITORIES_URL = "${github.repositories.url}";
     public static final String GITHUB_REPOSITORY_FINDER = "githubRepositoryFinder";
-    private String githubReposUrl;
-    private RestTemplate cachingRestTemplate;
+    private final GithubTransport transport;
 
-    public GithubRepositoryFinder(
-            @Value(GITHUB_REPOSITORIES_URL) String githubReposUrl,
-            @Autowired RestTemplate cachingRestTemplate) {
-        this.githubReposUrl = githubReposUrl;
-        this.cachingRestTemplate = cachingRestTemplate;
+    public GithubRepositoryFinder(@Autowired GithubTransport transport) {
+        this.transport = transport;
     }
 
     @Override
     public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
-        LOG.trace("Calling Github repository:'{}', for:'{}' using eTag:'{}'", githubReposUrl, ownerRepository, eTag);
-        ResponseEntity<GithubRepository> githubResponse = cachingRestTemplate.exchange(
-                githubReposUrl, HttpMethod.GET, eTagEntity(eTag), GithubRepository.class,
-                ownerRepository.getOwner(), ownerRepository.getRepository());
+        return toRepository(ownerRepository, eTag, await(transport.getRepository(ownerRepository, eTag)));
+    }
+
+    private static ResponseEntity<GithubRepository> await(CompletableFuture<ResponseEntity<GithubRepository>> githubResponse) {
+        try {
+            return githubResponse.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    static Optional<Repository> toRepository(OwnerRepository ownerRepository, ETag eTag, ResponseEntity<GithubRepository> githubResponse) {
         LOG.debug("Received Github response status :'{}'", githubResponse.getStatusCode());
         switch (githubResponse.getStatusCode()) {
             case OK:
                 return handleOK(githubResponse);
             case NOT_FOUND:
                 return handleNotFound(githubResponse);
+            case NOT_MODIFIED:
+                throw new RepositoryNotModifiedException(ownerRepository, eTag);
+            case FORBIDDEN:
+                throw handleForbidden(githubResponse);
             default:
-                throw new IllegalStateException("Only OK and NOT_FOUND statuses handled in finder. Other status eg. NOT_MODIFIED should be handled by underlying cache.");
+                throw new IllegalStateException("Unexpected Github response status: " + githubResponse.getStatusCode());
         }
+    }
 
+    private static RuntimeException handleForbidden(ResponseEntity<GithubRepository> githubResponse) {
+        return forbidden(githubResponse.getHeaders(), githubResponse.getStatusCode());
+    }
 
+    static RuntimeException forbidden(HttpHeaders headers, HttpStatus status) {
+        String reset = headers.getFirst(RateLimitBudget.RESET_HEADER);
+        if ("0".equals(headers.getFirst(RateLimitBudget.REMAINING_HEADER)) && reset != null) {
+            return new RateLimitExceededException("rejected by Github", Instant.ofEpochSecond(Long.parseLong(reset)));
+        }
+        return new IllegalStateException("Github refused access: " + status);
     }
 
-    private Optional<Repository> handleNotFound(ResponseEntity<GithubRepository> githubResponse) {
+    private static Optional<Repository> handleNotFound(ResponseEntity<GithubRepository> githubResponse) {
         return Optional.empty();
     }
 
-    private Optional<Repository> handleOK(ResponseEntity<GithubRepository> githubResponse) {
-        GithubRepository githubRepository = githubResponse.getBody();
-        LOG.trace("Returning github repository '{}'", githubRepository);
-        return Optional.of(Repository.builder().
+    private static Optional<Repository> handleOK(ResponseEntity<GithubRepository> githubResponse) {
+        return Optional.of(repository(githubResponse.getBody(), ETag.from(githubResponse.getHeaders().getETag())));
+    }
+
+    static Repository repository(GithubRepository githubRepository, ETag eTag) {
+        return Repository.builder().
                 name(githubRepository.getName()).
                 fullName(githubRepository.getFullName()).
                 cloneUrl(githubRepository.getCloneUrl()).
@@ -65,13 +91,16 @@ public class GithubRepositoryFinder implements RepositoryFinder {
                 description(githubRepository.getDescription()).
                 owner(githubRepository.getOwner().getLogin()).
                 stars(githubRepository.getStars()).
-                eTag(ETag.from(githubResponse.getHeaders().getETag())).
-                build());
+                eTag(eTag).
+                build();
     }
 
-    private HttpEntity<?> eTagEntity(ETag eTag) {
+    static HttpEntity<?> eTagEntity(ETag eTag) {
         HttpHeaders requestHeaders = new HttpHeaders();
         eTag.addTo(requestHeaders);
+        if (!ETag.NO_ETAG.equals(eTag)) {
+            requestHeaders.setIfNoneMatch(eTag.toString());
+        }
         return new HttpEntity<>(requestHeaders);
     }
 }
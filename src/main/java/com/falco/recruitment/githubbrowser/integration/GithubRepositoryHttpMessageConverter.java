@@ -0,0 +1,63 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.metrics.StageTimer;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Read only converter using {@link GithubRepositoryParser}, registered in front of jackson converter.
+ */
+public class GithubRepositoryHttpMessageConverter extends AbstractHttpMessageConverter<GithubRepository> {
+    private final GithubRepositoryParser parser;
+    private final StageTimer parseTimer;
+
+    public GithubRepositoryHttpMessageConverter() {
+        this(new StageTimer(StageTimers.PARSE));
+    }
+
+    public GithubRepositoryHttpMessageConverter(StageTimer parseTimer) {
+        this(new GithubRepositoryParser(), parseTimer);
+    }
+
+    public GithubRepositoryHttpMessageConverter(GithubRepositoryParser parser, StageTimer parseTimer) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.parser = parser;
+        this.parseTimer = parseTimer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GithubRepository.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GithubRepository readInternal(Class<? extends GithubRepository> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        long started = System.nanoTime();
+        try {
+            return parser.parse(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Could not read Github repository: " + e.getOriginalMessage(), e);
+        } finally {
+            parseTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    protected void writeInternal(GithubRepository githubRepository, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Github repository is read only");
+    }
+}
@@ -0,0 +1,58 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import lombok.Value;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Page of owner repositories with its Github pagination links.
+ */
+@Value
+public class GithubRepositoryPage {
+    static final String PAGE_PARAMETER = "page";
+    private final URI uri;
+    private final List<Repository> repositories;
+    private final ETag eTag;
+    /**
+     * Link relations ({@code next}, {@code last}, ...) of {@code Link} response header.
+     */
+    private final Map<String, URI> links;
+
+    public Optional<URI> next() {
+        return Optional.ofNullable(links.get("next"));
+    }
+
+    /**
+     * All pages after this one when Github sent {@code last} link, otherwise only the next page (if any),
+     * whose own links tell what follows.
+     */
+    public List<URI> following() {
+        URI last = links.get("last");
+        Optional<Integer> nextPage = next().flatMap(GithubRepositoryPage::pageNumber);
+        Optional<Integer> lastPage = Optional.ofNullable(last).flatMap(GithubRepositoryPage::pageNumber);
+        if (!nextPage.isPresent() || !lastPage.isPresent()) {
+            return next().map(Collections::singletonList).orElse(Collections.emptyList());
+        }
+        return IntStream.rangeClosed(nextPage.get(), lastPage.get())
+                .mapToObj(page -> UriComponentsBuilder.fromUri(last).replaceQueryParam(PAGE_PARAMETER, page).build(true).toUri())
+                .collect(Collectors.toList());
+    }
+
+    private static Optional<Integer> pageNumber(URI uri) {
+        String page = UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(PAGE_PARAMETER);
+        try {
+            return Optional.ofNullable(page).map(Integer::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
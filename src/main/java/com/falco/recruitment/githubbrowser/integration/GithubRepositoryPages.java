@@ -0,0 +1,140 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.forbidden;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.repository;
+
+/**
+ * Fetches pages of owner repositories through caching {@link RestTemplate}, so requests share tokens,
+ * rate limit budgets and compression with single repository lookups.
+ * Last seen page of every url is remembered with its ETag and sent as {@code If-None-Match},
+ * unchanged page is answered by 304 which does not count against Github rate limit.
+ * Thread safe.
+ */
+@Slf4j
+@Service
+public class GithubRepositoryPages {
+    public static final String GITHUB_OWNER_REPOSITORIES_URL = "${github.owner.repositories.url}";
+    public static final String PAGES_CACHE_MAX_SIZE = "${githubbrowser.repositories.owner.pages.cache.max.size}";
+    static final String LINK_HEADER = "Link";
+    private static final Pattern LINK = Pattern.compile("<([^>]*)>\\s*;\\s*rel=\"([^\"]+)\"");
+    private final LongAdder notModified = new LongAdder();
+    private final Cache<URI, GithubRepositoryPage> pages;
+    private final GithubRepositoryParser parser = new GithubRepositoryParser();
+    private final String ownerRepositoriesUrl;
+    private final RestTemplate cachingRestTemplate;
+
+    public GithubRepositoryPages(
+            @Value(GITHUB_OWNER_REPOSITORIES_URL) String ownerRepositoriesUrl,
+            @Value(PAGES_CACHE_MAX_SIZE) long maxSize,
+            @Autowired RestTemplate cachingRestTemplate) {
+        this.ownerRepositoriesUrl = ownerRepositoriesUrl;
+        this.cachingRestTemplate = cachingRestTemplate;
+        this.pages = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public URI firstPage(String owner) {
+        return UriComponentsBuilder.fromUriString(ownerRepositoriesUrl).buildAndExpand(owner).encode().toUri();
+    }
+
+    /**
+     * @return empty when owner is not found
+     */
+    public Optional<GithubRepositoryPage> page(URI uri) {
+        GithubRepositoryPage previous = pages.getIfPresent(uri);
+        ETag eTag = previous == null ? ETag.NO_ETAG : previous.getETag();
+        Optional<GithubRepositoryPage> page = cachingRestTemplate.execute(uri, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+                    if (!ETag.NO_ETAG.equals(eTag)) {
+                        request.getHeaders().setIfNoneMatch(eTag.toString());
+                    }
+                },
+                response -> read(uri, previous, response));
+        if (page.isPresent()) {
+            pages.put(uri, page.get());
+        } else {
+            pages.invalidate(uri);
+        }
+        return page;
+    }
+
+    /**
+     * @return pages answered by 304
+     */
+    public long notModifiedCount() {
+        return notModified.sum();
+    }
+
+    private Optional<GithubRepositoryPage> read(URI uri, GithubRepositoryPage previous, ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = response.getHeaders();
+        switch (response.getStatusCode()) {
+            case OK:
+                ETag eTag = ETag.from(headers.getETag());
+                List<Repository> repositories = parse(response).stream()
+                        .map(githubRepository -> repository(githubRepository, ETag.NO_ETAG))
+                        .collect(Collectors.toList());
+                return Optional.of(new GithubRepositoryPage(uri, repositories, eTag, links(headers)));
+            case NOT_MODIFIED:
+                if (previous == null) {
+                    throw new IllegalStateException("Github answered unconditional request for '" + uri + "' by 304");
+                }
+                LOG.debug("Page '{}' not modified", uri);
+                notModified.increment();
+                return Optional.of(previous);
+            case NOT_FOUND:
+                return Optional.empty();
+            case FORBIDDEN:
+                throw forbidden(headers, response.getStatusCode());
+            default:
+                throw new IllegalStateException("Github answered page '" + uri + "' by " + response.getStatusCode());
+        }
+    }
+
+    private List<GithubRepository> parse(ClientHttpResponse response) throws IOException {
+        try {
+            return parser.parseList(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Could not read Github repositories: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static Map<String, URI> links(HttpHeaders headers) {
+        Map<String, URI> links = new LinkedHashMap<>();
+        for (String link : headers.getOrDefault(LINK_HEADER, Collections.emptyList())) {
+            Matcher matcher = LINK.matcher(link);
+            while (matcher.find()) {
+                links.put(matcher.group(2), URI.create(matcher.group(1)));
+            }
+        }
+        return links;
+    }
+}
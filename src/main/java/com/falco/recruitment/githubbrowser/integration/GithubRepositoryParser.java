@@ -0,0 +1,203 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads {@link GithubRepository} straight from json tokens.
+ * Only fields used by application are read, all other values (including nested objects like parent or source
+ * repository of a fork) are skipped without being materialized.
+ * Thread safe.
+ */
+public class GithubRepositoryParser {
+    private final JsonFactory jsonFactory;
+
+    public GithubRepositoryParser() {
+        this(new JsonFactory());
+    }
+
+    public GithubRepositoryParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public GithubRepository parse(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readRepository(parser);
+        }
+    }
+
+    /**
+     * Reads array of repositories, as listed on a page of owner repositories.
+     */
+    public List<GithubRepository> parseList(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+            List<GithubRepository> repositories = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                expect(parser, token, JsonToken.START_OBJECT);
+                repositories.add(readRepository(parser));
+            }
+            return repositories;
+        }
+    }
+
+    /**
+     * Reads action, repository and changed values of webhook event, other fields (eg. commits of push) are skipped.
+     */
+    public GithubWebhookPayload parseWebhookPayload(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            String action = null;
+            GithubRepository repository = null;
+            Map<String, String> changes = Collections.emptyMap();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("action".equals(field)) {
+                    action = parser.getValueAsString();
+                } else if ("repository".equals(field) && value == JsonToken.START_OBJECT) {
+                    repository = readRepository(parser);
+                } else if ("changes".equals(field) && value == JsonToken.START_OBJECT) {
+                    changes = new HashMap<>();
+                    readStrings(parser, "", changes);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new GithubWebhookPayload(action, repository, changes);
+        }
+    }
+
+    /**
+     * Reads repository object, parser must be positioned at its START_OBJECT token.
+     */
+    GithubRepository readRepository(JsonParser parser) throws IOException {
+        GithubRepository.GithubRepositoryBuilder repository = GithubRepository.builder();
+        String name = null;
+        GithubRepository.Owner owner = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    name = readString(parser);
+                    break;
+                case "full_name":
+                    repository.fullName(readString(parser));
+                    break;
+                case "description":
+                    repository.description(readString(parser));
+                    break;
+                case "clone_url":
+                    repository.cloneUrl(readString(parser));
+                    break;
+                case "stargazers_count":
+                    repository.stars(parser.getValueAsInt());
+                    break;
+                case "created_at":
+                    repository.createdAt(readDateTime(parser));
+                    break;
+                case "owner":
+                    owner = readOwner(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        expect(parser, parser.getCurrentToken(), JsonToken.END_OBJECT);
+        return repository
+                .name(required(parser, "name", name))
+                .owner(required(parser, "owner", owner))
+                .build();
+    }
+
+    private GithubRepository.Owner readOwner(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, parser.getCurrentToken(), JsonToken.START_OBJECT);
+        String login = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("login".equals(field)) {
+                login = readString(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return GithubRepository.login(required(parser, "owner.login", login));
+    }
+
+    /**
+     * Collects string values of nested objects by dot separated path, parser must be positioned at START_OBJECT token.
+     */
+    private void readStrings(JsonParser parser, String path, Map<String, String> strings) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = path + parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT) {
+                readStrings(parser, field + ".", strings);
+            } else if (value == JsonToken.VALUE_STRING) {
+                strings.put(field, parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Object or array in place of string is skipped as a whole and read as null.
+     */
+    private String readString(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private LocalDateTime readDateTime(JsonParser parser) throws IOException {
+        //push event payloads carry epoch seconds
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return LocalDateTime.ofEpochSecond(parser.getLongValue(), 0, ZoneOffset.UTC);
+        }
+        String dateTime = parser.getValueAsString();
+        if (dateTime == null) {
+            return null;
+        }
+        //same rules as jackson jsr310 LocalDateTimeDeserializer: instants are converted at UTC
+        if (dateTime.endsWith("Z")) {
+            return LocalDateTime.ofInstant(Instant.parse(dateTime), ZoneOffset.UTC);
+        }
+        return LocalDateTime.parse(dateTime);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonMappingException {
+        if (actual != expected) {
+            throw JsonMappingException.from(parser, String.format("Expected %s but was %s", expected, actual));
+        }
+    }
+
+    private static <T> T required(JsonParser parser, String property, T value) throws JsonMappingException {
+        if (value == null) {
+            throw JsonMappingException.from(parser, String.format("Missing required property '%s'", property));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,199 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpMessage;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.ProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Github identities requests are sent as, each with its own {@link RateLimitBudget}.
+ * Every request goes out with the token which has most requests remaining; exhausted tokens are skipped until
+ * their reset, so upstream throughput grows with number of tokens. Without configured tokens requests are anonymous.
+ * Tokens are added below http cache, which therefore has to be a private (non-shared) cache to keep
+ * responses to authenticated requests.
+ */
+public class GithubTokenPool {
+    public static final String ANONYMOUS = "anonymous";
+    /**
+     * Names token acquired by caller of non-blocking client, replaced with authorization before request is sent.
+     */
+    public static final String TOKEN_HEADER = "X-Githubbrowser-Token";
+    private static final String TOKEN_ATTRIBUTE = GithubTokenPool.class.getName() + ".token";
+    private final List<Token> tokens;
+
+    /**
+     * @param secrets tokens, named token1..n in metrics, anonymous access when empty
+     */
+    public GithubTokenPool(List<String> secrets, Supplier<RateLimitBudget> budgets) {
+        List<Token> tokens = new ArrayList<>();
+        if (secrets.isEmpty()) {
+            tokens.add(new Token(ANONYMOUS, null, budgets.get()));
+        }
+        for (int i = 0; i < secrets.size(); i++) {
+            tokens.add(new Token("token" + (i + 1), secrets.get(i), budgets.get()));
+        }
+        this.tokens = Collections.unmodifiableList(tokens);
+    }
+
+    public boolean isAuthenticated() {
+        return tokens.get(0).secret != null;
+    }
+
+    public List<Token> tokens() {
+        return tokens;
+    }
+
+    /**
+     * Requests per hour of all tokens, as last reported by Github.
+     */
+    public int limit() {
+        return tokens.stream().mapToInt(token -> token.budget.limit()).sum();
+    }
+
+    /**
+     * Requests left until reset of all tokens.
+     */
+    public int remaining() {
+        return tokens.stream().mapToInt(token -> token.budget.remaining()).sum();
+    }
+
+    /**
+     * Takes a request from budget of token with most requests remaining.
+     * Tokens which would need to pace the request are passed over, waiting for a slot only when all of them would.
+     */
+    public Token acquire(boolean revalidation, boolean mayWait) {
+        if (tokens.size() == 1) {
+            return tokens.get(0).acquire(revalidation, mayWait);
+        }
+        boolean[] tried = new boolean[tokens.size()];
+        RateLimitExceededException rejection = null;
+        for (int attempt = 0; attempt < tokens.size(); attempt++) {
+            int best = mostRemaining(tried);
+            tried[best] = true;
+            try {
+                return tokens.get(best).acquire(revalidation, false);
+            } catch (RateLimitExceededException e) {
+                rejection = rejection == null || e.getResetAt().isBefore(rejection.getResetAt()) ? e : rejection;
+            }
+        }
+        if (mayWait) {
+            return tokens.get(mostRemaining(new boolean[tokens.size()])).acquire(revalidation, true);
+        }
+        throw rejection;
+    }
+
+    /**
+     * Authorizes request which leaves the caching client with selected token and updates its budget from response.
+     */
+    public ClientExecChain limiting(ClientExecChain exec) {
+        return (route, request, context, execAware) -> {
+            Token token = acquire(request.containsHeader(HttpHeaders.IF_NONE_MATCH), true);
+            token.authorize(request);
+            CloseableHttpResponse response = exec.execute(route, request, context, execAware);
+            token.budget.update(response);
+            return response;
+        };
+    }
+
+    /**
+     * Authorizes requests of non-blocking client with token named in {@link #TOKEN_HEADER}.
+     * Token has to be acquired by caller before request is handed to the client, so rejection by rate limit
+     * reaches the caller instead of being thrown on reactor thread.
+     */
+    public HttpRequestInterceptor requestInterceptor() {
+        return (request, context) -> {
+            Header assigned = request.getFirstHeader(TOKEN_HEADER);
+            request.removeHeaders(TOKEN_HEADER);
+            Token token = assigned == null ? null : named(assigned.getValue());
+            if (token == null) {
+                throw new ProtocolException("Github request without acquired token: " + assigned);
+            }
+            token.authorize(request);
+            context.setAttribute(TOKEN_ATTRIBUTE, token);
+        };
+    }
+
+    public HttpResponseInterceptor responseInterceptor() {
+        return (response, context) -> {
+            Object token = context.getAttribute(TOKEN_ATTRIBUTE);
+            if (token instanceof Token) {
+                ((Token) token).budget.update(response);
+            }
+        };
+    }
+
+    private Token named(String name) {
+        for (Token token : tokens) {
+            if (token.name.equals(name)) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    private int mostRemaining(boolean[] tried) {
+        int best = -1;
+        int bestRemaining = Integer.MIN_VALUE;
+        for (int i = 0; i < tokens.size(); i++) {
+            int remaining = tokens.get(i).budget.remaining();
+            if (!tried[i] && remaining > bestRemaining) {
+                best = i;
+                bestRemaining = remaining;
+            }
+        }
+        return best;
+    }
+
+    public static class Token {
+        private final String name;
+        private final String secret;
+        private final RateLimitBudget budget;
+        private final LongAdder requests = new LongAdder();
+
+        private Token(String name, String secret, RateLimitBudget budget) {
+            this.name = name;
+            this.secret = secret;
+            this.budget = budget;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RateLimitBudget budget() {
+            return budget;
+        }
+
+        public long requestCount() {
+            return requests.sum();
+        }
+
+        public void authorize(HttpMessage request) {
+            if (secret != null) {
+                request.setHeader(HttpHeaders.AUTHORIZATION, "token " + secret);
+            }
+        }
+
+        private Token acquire(boolean revalidation, boolean mayWait) {
+            budget.acquire(revalidation, mayWait);
+            requests.increment();
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
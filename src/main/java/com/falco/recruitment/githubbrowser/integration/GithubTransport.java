@@ -0,0 +1,25 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Http exchange with Github repositories api, selected by github.transport property:
+ * <ul>
+ * <li>{@code blocking} - caching http client with pooled connections, every request in flight holds a thread and a socket</li>
+ * <li>{@code nio} - non-blocking client, requests wait for persistent connections without holding a thread,
+ * all I/O is done by a few reactor threads</li>
+ * </ul>
+ */
+public interface GithubTransport {
+    String GITHUB_TRANSPORT = "github.transport";
+
+    /**
+     * @param eTag sent as {@code If-None-Match} unless {@link ETag#NO_ETAG}
+     * @return Github response of any status, completed exceptionally when exchange fails
+     */
+    CompletableFuture<ResponseEntity<GithubRepository>> getRepository(OwnerRepository ownerRepository, ETag eTag);
+}
@@ -0,0 +1,56 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import lombok.Value;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Part of Github webhook event payload used by application.
+ */
+@Value
+public class GithubWebhookPayload {
+    /**
+     * Absent for push events.
+     */
+    private final String action;
+    /**
+     * Absent for events not related to a repository (eg. ping of organization hook).
+     */
+    private final GithubRepository repository;
+    /**
+     * String values of {@code changes} object by dot separated path, eg. {@code repository.name.from}.
+     */
+    private final Map<String, String> changes;
+
+    public Optional<String> action() {
+        return Optional.ofNullable(action);
+    }
+
+    public Optional<GithubRepository> repository() {
+        return Optional.ofNullable(repository);
+    }
+
+    /**
+     * @return repository as it is after the event, without ETag as webhook does not tell Github's one
+     */
+    public Optional<Repository> currentRepository() {
+        return repository().map(githubRepository -> GithubRepositoryFinder.repository(githubRepository, ETag.NO_ETAG));
+    }
+
+    /**
+     * @return name before repository was renamed
+     */
+    public Optional<String> previousName() {
+        return Optional.ofNullable(changes.get("repository.name.from"));
+    }
+
+    /**
+     * @return owner login before repository was transferred
+     */
+    public Optional<String> previousOwner() {
+        return Optional.ofNullable(changes.getOrDefault("owner.from.user.login", changes.get("owner.from.organization.login")));
+    }
+}
@@ -0,0 +1,62 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryExtractor.addHeaders;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.GITHUB_REPOSITORIES_URL;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder.eTagEntity;
+
+/**
+ * Calls Github over non-blocking {@link AsyncRestTemplate}. Requests over github.async.max.connections are queued
+ * by the client for a persistent connection without holding a thread, responses are completed on client I/O threads.
+ * Github token is acquired before the request is queued, without waiting for pacing, request over rate limit fails
+ * with {@link com.falco.recruitment.githubbrowser.RateLimitExceededException} and is not sent.
+ */
+@Service
+@ConditionalOnProperty(name = GithubTransport.GITHUB_TRANSPORT, havingValue = "nio")
+public class NioGithubTransport implements GithubTransport {
+    private final String githubReposUrl;
+    private final AsyncRestTemplate asyncRestTemplate;
+    private final GithubRepositoryExtractor extractor;
+    private final GithubTokenPool tokenPool;
+
+    public NioGithubTransport(
+            @Value(GITHUB_REPOSITORIES_URL) String githubReposUrl,
+            @Autowired AsyncRestTemplate asyncRestTemplate,
+            @Autowired GithubTokenPool tokenPool) {
+        this.githubReposUrl = githubReposUrl;
+        this.asyncRestTemplate = asyncRestTemplate;
+        this.tokenPool = tokenPool;
+        this.extractor = new GithubRepositoryExtractor(asyncRestTemplate.getMessageConverters());
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<GithubRepository>> getRepository(OwnerRepository ownerRepository, ETag eTag) {
+        CompletableFuture<ResponseEntity<GithubRepository>> response = new CompletableFuture<>();
+        try {
+            HttpHeaders eTagHeaders = eTagEntity(eTag).getHeaders();
+            GithubTokenPool.Token token = tokenPool.acquire(eTagHeaders.containsKey(HttpHeaders.IF_NONE_MATCH), false);
+            asyncRestTemplate.execute(
+                    githubReposUrl, HttpMethod.GET, request -> {
+                        addHeaders(request.getHeaders(), eTagHeaders);
+                        request.getHeaders().set(GithubTokenPool.TOKEN_HEADER, token.name());
+                    }, extractor,
+                    ownerRepository.getOwner(), ownerRepository.getRepository())
+                    .addCallback(response::complete, response::completeExceptionally);
+        } catch (RuntimeException e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+}
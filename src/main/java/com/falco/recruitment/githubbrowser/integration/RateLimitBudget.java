@@ -0,0 +1,185 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpMessage;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Github rate limit of one identity, tracked from {@code X-RateLimit-*} headers of every response and shared by all threads.
+ * <ul>
+ * <li>conditional requests (revalidations, free when answered by 304) may use all remaining requests</li>
+ * <li>unconditional requests leave a reserve for revalidations and are paced, so remaining requests last until reset;
+ * a burst of requests may go out without waiting</li>
+ * <li>requests Github would surely reject, or which would wait for their slot longer than max wait, fail fast
+ * with {@link RateLimitExceededException}</li>
+ * </ul>
+ * Until first response (or past reset) full hourly limit is assumed.
+ */
+@Slf4j
+public class RateLimitBudget {
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+    private static final Instant UNKNOWN_RESET = Instant.EPOCH;
+    private final AtomicReference<Window> window;
+    private final AtomicLong nextSlotNanos = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final double revalidationReserve;
+    private final int burst;
+    private final long maxWaitNanos;
+    private final Clock clock;
+
+    public RateLimitBudget(int limitPerHour, double revalidationReserve, int burst, Duration maxWait, Clock clock) {
+        this.window = new AtomicReference<>(new Window(limitPerHour, limitPerHour, UNKNOWN_RESET));
+        this.revalidationReserve = revalidationReserve;
+        this.burst = burst;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one request from budget, waiting for its slot when allowed to.
+     *
+     * @param revalidation request is conditional and does not count against limit when answered by 304
+     * @param mayWait      caller can be blocked for pacing (false on I/O reactor threads)
+     */
+    public void acquire(boolean revalidation, boolean mayWait) {
+        Instant now = clock.instant();
+        Window current = window.updateAndGet(w -> w.renewedAt(now));
+        int floor = revalidation ? 0 : reserveOf(current);
+        if (current.remaining <= floor) {
+            throw rejected(revalidation ? "no requests left" : "remaining requests reserved for revalidations", current);
+        }
+        if (revalidation) {
+            return;
+        }
+        pace(current, now, mayWait);
+        window.updateAndGet(w -> w.spent(now));
+    }
+
+    /**
+     * Updates budget from rate limit headers, responses arriving out of order never raise remaining count of a window.
+     */
+    public void update(HttpMessage response) {
+        Header limit = response.getFirstHeader(LIMIT_HEADER);
+        Header remaining = response.getFirstHeader(REMAINING_HEADER);
+        Header reset = response.getFirstHeader(RESET_HEADER);
+        if (limit == null || remaining == null || reset == null) {
+            return;
+        }
+        try {
+            Window reported = new Window(Integer.parseInt(limit.getValue()), Integer.parseInt(remaining.getValue()),
+                    Instant.ofEpochSecond(Long.parseLong(reset.getValue())));
+            window.updateAndGet(w -> w.merged(reported));
+        } catch (NumberFormatException e) {
+            LOG.warn("Ignoring malformed Github rate limit headers {}, {}, {}", limit, remaining, reset);
+        }
+    }
+
+    public int limit() {
+        return window.get().limit;
+    }
+
+    public int remaining() {
+        return window.updateAndGet(w -> w.renewedAt(clock.instant())).remaining;
+    }
+
+    public Instant resetAt() {
+        return window.get().resetAt;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long delayedCount() {
+        return delayed.sum();
+    }
+
+    private int reserveOf(Window window) {
+        return (int) (window.limit * revalidationReserve);
+    }
+
+    /**
+     * Spaces requests evenly over time left till reset, letting burst of requests through when they were not used before.
+     */
+    private void pace(Window current, Instant now, boolean mayWait) {
+        if (UNKNOWN_RESET.equals(current.resetAt)) {
+            return;
+        }
+        long requests = Math.max(1, current.remaining - reserveOf(current));
+        long intervalNanos = Duration.between(now, current.resetAt).toNanos() / requests;
+        long nowNanos = System.nanoTime();
+        while (true) {
+            long previous = nextSlotNanos.get();
+            long slot = Math.max(previous, nowNanos - (burst - 1) * intervalNanos);
+            long waitNanos = slot - nowNanos;
+            if (waitNanos > (mayWait ? maxWaitNanos : 0)) {
+                throw rejected("paced, next request slot in " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms", current);
+            }
+            if (nextSlotNanos.compareAndSet(previous, slot + intervalNanos)) {
+                sleep(waitNanos);
+                return;
+            }
+        }
+    }
+
+    private void sleep(long waitNanos) {
+        if (waitNanos <= 0) {
+            return;
+        }
+        delayed.increment();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Github rate limit", e);
+        }
+    }
+
+    private RateLimitExceededException rejected(String reason, Window current) {
+        rejected.increment();
+        LOG.debug("Rejecting Github request, {} of {} requests left: {}", current.remaining, current.limit, reason);
+        return new RateLimitExceededException(reason, current.resetAt);
+    }
+
+    private static class Window {
+        private final int limit;
+        private final int remaining;
+        private final Instant resetAt;
+
+        private Window(int limit, int remaining, Instant resetAt) {
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetAt = resetAt;
+        }
+
+        private Window renewedAt(Instant now) {
+            return UNKNOWN_RESET.equals(resetAt) || now.isBefore(resetAt) ? this : new Window(limit, limit, UNKNOWN_RESET);
+        }
+
+        private Window spent(Instant now) {
+            return new Window(limit, remaining - 1, resetAt).renewedAt(now);
+        }
+
+        private Window merged(Window reported) {
+            if (reported.resetAt.isAfter(resetAt)) {
+                return reported;
+            }
+            if (reported.resetAt.equals(resetAt) && reported.remaining < remaining) {
+                return reported;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rate limit and usage of every Github token, plus requests remaining over whole pool.
+ */
+@Component
+public class RateLimitMetrics implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.ratelimit.";
+    private final GithubTokenPool tokenPool;
+
+    public RateLimitMetrics(@Autowired GithubTokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        long now = Instant.now().getEpochSecond();
+        long remaining = 0;
+        for (GithubTokenPool.Token token : tokenPool.tokens()) {
+            String prefix = PREFIX + token.name() + ".";
+            RateLimitBudget budget = token.budget();
+            int tokenRemaining = budget.remaining();
+            remaining += tokenRemaining;
+            metrics.add(new Metric<>(prefix + "requests", token.requestCount()));
+            metrics.add(new Metric<>(prefix + "limit", budget.limit()));
+            metrics.add(new Metric<>(prefix + "remaining", tokenRemaining));
+            metrics.add(new Metric<>(prefix + "seconds.to.reset", Math.max(0, budget.resetAt().getEpochSecond() - now)));
+            metrics.add(new Metric<>(prefix + "rejected", budget.rejectedCount()));
+            metrics.add(new Metric<>(prefix + "delayed", budget.delayedCount()));
+        }
+        metrics.add(new Metric<>(PREFIX + "tokens", tokenPool.tokens().size()));
+        metrics.add(new Metric<>(PREFIX + "remaining", remaining));
+        return metrics;
+    }
+}
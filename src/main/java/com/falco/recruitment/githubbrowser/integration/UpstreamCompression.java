@@ -0,0 +1,168 @@
+package com.falco.recruitment.githubbrowser.integration;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AsyncClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.concurrent.ListenableFutureAdapter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks Github for gzipped responses and decompresses them while they are read, so parser consumes
+ * decompressed stream without full body being buffered. Http clients are left to pass gzipped bodies through,
+ * so http cache stores (and revalidates) responses as sent by Github.
+ * Counts bytes received compressed, their decompressed size and bytes received without encoding.
+ */
+@Component
+public class UpstreamCompression implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.upstream.bytes.";
+    private static final String GZIP = "gzip";
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder uncompressed = new LongAdder();
+    private final LongAdder identity = new LongAdder();
+
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            return new DecodingResponse(execution.execute(request, body));
+        };
+    }
+
+    public AsyncClientHttpRequestInterceptor asyncInterceptor() {
+        return (request, body, execution) -> {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            return new ListenableFutureAdapter<ClientHttpResponse, ClientHttpResponse>(execution.executeAsync(request, body)) {
+                @Override
+                protected ClientHttpResponse adapt(ClientHttpResponse response) {
+                    return new DecodingResponse(response);
+                }
+            };
+        };
+    }
+
+    public long compressedBytes() {
+        return compressed.sum();
+    }
+
+    public long uncompressedBytes() {
+        return uncompressed.sum();
+    }
+
+    public long identityBytes() {
+        return identity.sum();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        long compressedBytes = compressedBytes();
+        long uncompressedBytes = uncompressedBytes();
+        return Arrays.asList(
+                new Metric<>(PREFIX + "compressed", compressedBytes),
+                new Metric<>(PREFIX + "uncompressed", uncompressedBytes),
+                new Metric<>(PREFIX + "identity", identityBytes()),
+                new Metric<>(PREFIX + "compression.ratio", compressedBytes == 0 ? 0.0 : (double) uncompressedBytes / compressedBytes));
+    }
+
+    private class DecodingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final boolean gzipped;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        private DecodingResponse(ClientHttpResponse response) {
+            this.response = response;
+            this.gzipped = GZIP.equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            if (gzipped) {
+                headers = new HttpHeaders();
+                headers.putAll(response.getHeaders());
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            } else {
+                headers = response.getHeaders();
+            }
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gzipped ? gunzip(response.getBody()) : new CountingInputStream(response.getBody(), identity);
+            }
+            return body;
+        }
+
+        private InputStream gunzip(InputStream raw) throws IOException {
+            PushbackInputStream wire = new PushbackInputStream(new CountingInputStream(raw, compressed));
+            int first = wire.read();
+            if (first == -1) {
+                return StreamUtils.emptyInput();
+            }
+            wire.unread(first);
+            return new CountingInputStream(new GZIPInputStream(wire), uncompressed);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongAdder count;
+
+        private CountingInputStream(InputStream in, LongAdder count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                count.increment();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count.add(read);
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.falco.recruitment.githubbrowser.metrics;
+
+import com.falco.recruitment.githubbrowser.tracing.Trace;
+import com.falco.recruitment.githubbrowser.tracing.Tracer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of one request handling stage, in microseconds.
+ * Recording is wait-free, so timers stay on under full load; readers swap out interval histogram.
+ * Recorded time is added as span to trace of current request, when it is sampled.
+ */
+public class StageTimer {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private final String stage;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 2);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private Histogram interval;
+
+    public StageTimer(String stage) {
+        this.stage = stage;
+    }
+
+    public String stage() {
+        return stage;
+    }
+
+    /**
+     * Records time elapsed since {@code startedNanos} taken from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startedNanos) {
+        long endedNanos = System.nanoTime();
+        long micros = TimeUnit.NANOSECONDS.toMicros(endedNanos - startedNanos);
+        recorder.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+        count.increment();
+        totalMicros.add(micros);
+        Trace trace = Tracer.current();
+        if (trace != null) {
+            trace.span(stage, startedNanos, endedNanos);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * Latencies recorded since previous call, returned histogram is reused by next call.
+     */
+    public synchronized Histogram intervalHistogram() {
+        interval = recorder.getIntervalHistogram(interval);
+        return interval;
+    }
+}
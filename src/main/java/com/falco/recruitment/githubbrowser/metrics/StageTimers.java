@@ -0,0 +1,70 @@
+package com.falco.recruitment.githubbrowser.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timers of request handling stages, published on /metrics.
+ * Counts are cumulative, percentiles cover the window since previous scrape, so a single scraper
+ * polling at fixed rate gets per-interval latency distribution. Values in milliseconds.
+ */
+@Component
+public class StageTimers implements PublicMetrics {
+    /**
+     * Whole controller call, including response building.
+     */
+    public static final String CONTROLLER = "controller";
+    /**
+     * Finder pipeline (eg. cache, coalescing, bulkhead, circuit breaker, Github call).
+     */
+    public static final String FINDER = "finder";
+    /**
+     * Waiting for a pooled connection to Github.
+     */
+    public static final String POOL_LEASE = "pool.lease";
+    /**
+     * Request execution by http client (http cache, connection lease, Github response headers).
+     */
+    public static final String HTTP = "http";
+    /**
+     * Request execution by asynchronous http client.
+     */
+    public static final String HTTP_ASYNC = "http.async";
+    /**
+     * Reading Github repository body.
+     */
+    public static final String PARSE = "parse";
+    private static final String PREFIX = "githubbrowser.stage.";
+    private static final double MICROS_IN_MILLI = 1000.0;
+    private final Map<String, StageTimer> timers = new ConcurrentHashMap<>();
+
+    public StageTimer timer(String stage) {
+        StageTimer timer = timers.get(stage);
+        return timer != null ? timer : timers.computeIfAbsent(stage, StageTimer::new);
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        timers.values().forEach(timer -> {
+            String prefix = PREFIX + timer.stage() + ".";
+            Histogram interval = timer.intervalHistogram();
+            metrics.add(new Metric<>(prefix + "count", timer.count()));
+            metrics.add(new Metric<>(prefix + "total", timer.totalMicros() / MICROS_IN_MILLI));
+            metrics.add(new Metric<>(prefix + "p50", interval.getValueAtPercentile(50) / MICROS_IN_MILLI));
+            metrics.add(new Metric<>(prefix + "p90", interval.getValueAtPercentile(90) / MICROS_IN_MILLI));
+            metrics.add(new Metric<>(prefix + "p99", interval.getValueAtPercentile(99) / MICROS_IN_MILLI));
+            metrics.add(new Metric<>(prefix + "p999", interval.getValueAtPercentile(99.9) / MICROS_IN_MILLI));
+            metrics.add(new Metric<>(prefix + "max", interval.getMaxValue() / MICROS_IN_MILLI));
+        });
+        return metrics;
+    }
+}
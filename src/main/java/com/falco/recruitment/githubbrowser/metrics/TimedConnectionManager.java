@@ -0,0 +1,43 @@
+package com.falco.recruitment.githubbrowser.metrics;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooling connection manager timing how long requests wait for a connection lease.
+ */
+public class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+    private final StageTimer leaseTimer;
+
+    public TimedConnectionManager(StageTimer leaseTimer) {
+        this.leaseTimer = leaseTimer;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        long started = System.nanoTime();
+        ConnectionRequest connectionRequest = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit tunit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                try {
+                    return connectionRequest.get(timeout, tunit);
+                } finally {
+                    leaseTimer.recordSince(started);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+        };
+    }
+}
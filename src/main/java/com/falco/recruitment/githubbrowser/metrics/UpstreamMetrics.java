@@ -0,0 +1,135 @@
+package com.falco.recruitment.githubbrowser.metrics;
+
+import com.falco.recruitment.githubbrowser.integration.CircuitBreakerRepositoryFinder;
+import com.netflix.hystrix.HystrixCommandKey;
+import com.netflix.hystrix.HystrixCommandMetrics;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AsyncClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Github responses by status code, http cache outcomes reported by httpclient-cache and Hystrix command latency,
+ * published on /metrics.
+ * Not modified ratio shows how many of conditional requests were answered without body (and without spending rate limit).
+ */
+@Component
+public class UpstreamMetrics implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.upstream.";
+    private static final String HYSTRIX_PREFIX = "githubbrowser.hystrix.";
+    private static final HystrixCommandKey COMMAND_KEY = HystrixCommandKey.Factory.asKey(CircuitBreakerRepositoryFinder.COMMAND_KEY);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<CacheResponseStatus, LongAdder> cacheStatuses = new EnumMap<>(CacheResponseStatus.class);
+    private final StageTimer httpTimer;
+    private final StageTimer httpAsyncTimer;
+
+    public UpstreamMetrics(@Autowired StageTimers stageTimers) {
+        this.httpTimer = stageTimers.timer(StageTimers.HTTP);
+        this.httpAsyncTimer = stageTimers.timer(StageTimers.HTTP_ASYNC);
+        for (CacheResponseStatus cacheStatus : CacheResponseStatus.values()) {
+            cacheStatuses.put(cacheStatus, new LongAdder());
+        }
+    }
+
+    /**
+     * Times request execution and counts response statuses of {@link org.springframework.web.client.RestTemplate}.
+     */
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            long started = System.nanoTime();
+            ClientHttpResponse response = execution.execute(request, body);
+            httpTimer.recordSince(started);
+            countStatus(response);
+            return response;
+        };
+    }
+
+    /**
+     * Times request execution and counts response statuses of {@link org.springframework.web.client.AsyncRestTemplate}.
+     */
+    public AsyncClientHttpRequestInterceptor asyncInterceptor() {
+        return (request, body, execution) -> {
+            long started = System.nanoTime();
+            ListenableFuture<ClientHttpResponse> response = execution.executeAsync(request, body);
+            response.addCallback(result -> {
+                httpAsyncTimer.recordSince(started);
+                countStatus(result);
+            }, e -> httpAsyncTimer.recordSince(started));
+            return response;
+        };
+    }
+
+    /**
+     * Context of a single request to caching http client, counting cache response status set by the client.
+     */
+    public HttpContext httpCacheContext() {
+        return new HttpCacheContext() {
+            @Override
+            public void setAttribute(String id, Object obj) {
+                super.setAttribute(id, obj);
+                if (HttpCacheContext.CACHE_RESPONSE_STATUS.equals(id) && obj instanceof CacheResponseStatus) {
+                    cacheStatuses.get(obj).increment();
+                }
+            }
+        };
+    }
+
+    public long statusCount(int status) {
+        LongAdder count = statuses.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long cacheStatusCount(CacheResponseStatus cacheStatus) {
+        return cacheStatuses.get(cacheStatus).sum();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        statuses.forEach((status, count) -> metrics.add(new Metric<>(PREFIX + "status." + status, count.sum())));
+        long ok = statusCount(HttpStatus.OK.value());
+        long notModified = statusCount(HttpStatus.NOT_MODIFIED.value());
+        metrics.add(new Metric<>(PREFIX + "not.modified.ratio", ok + notModified == 0 ? 0.0 : (double) notModified / (ok + notModified)));
+        cacheStatuses.forEach((cacheStatus, count) -> metrics.add(new Metric<>(
+                PREFIX + "cache." + cacheStatus.name().toLowerCase().replace('_', '.'), count.sum())));
+        HystrixCommandMetrics hystrix = HystrixCommandMetrics.getInstance(COMMAND_KEY);
+        if (hystrix != null) {
+            metrics.add(new Metric<>(HYSTRIX_PREFIX + "execution.p50", hystrix.getExecutionTimePercentile(50)));
+            metrics.add(new Metric<>(HYSTRIX_PREFIX + "execution.p99", hystrix.getExecutionTimePercentile(99)));
+            metrics.add(new Metric<>(HYSTRIX_PREFIX + "total.p50", hystrix.getTotalTimePercentile(50)));
+            metrics.add(new Metric<>(HYSTRIX_PREFIX + "total.p99", hystrix.getTotalTimePercentile(99)));
+        }
+        return metrics;
+    }
+
+    private void countStatus(ClientHttpResponse response) {
+        int status;
+        try {
+            status = response.getRawStatusCode();
+        } catch (IOException e) {
+            return;
+        }
+        LongAdder count = statuses.get(status);
+        if (count == null) {
+            count = statuses.computeIfAbsent(status, key -> new LongAdder());
+        }
+        count.increment();
+    }
+}
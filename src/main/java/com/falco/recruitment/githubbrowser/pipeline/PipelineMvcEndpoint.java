@@ -0,0 +1,43 @@
+package com.falco.recruitment.githubbrowser.pipeline;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.mvc.AbstractMvcEndpoint;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * Management endpoint showing (GET /pipeline) and replacing (POST /pipeline?stages=bean1,bean2) repository finder pipeline.
+ * Replacement is not persisted, restarted node starts with pipeline from properties.
+ */
+@Component
+public class PipelineMvcEndpoint extends AbstractMvcEndpoint {
+    private final PipelineRepositoryFinder pipelineRepositoryFinder;
+
+    public PipelineMvcEndpoint(@Autowired PipelineRepositoryFinder pipelineRepositoryFinder) {
+        super("/pipeline", true);
+        this.pipelineRepositoryFinder = pipelineRepositoryFinder;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<String> stages() {
+        return pipelineRepositoryFinder.stages();
+    }
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> replace(@RequestParam("stages") String stages) {
+        try {
+            return ResponseEntity.ok(pipelineRepositoryFinder.replace(stages));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
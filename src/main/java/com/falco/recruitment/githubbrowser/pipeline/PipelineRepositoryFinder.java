@@ -0,0 +1,154 @@
+package com.falco.recruitment.githubbrowser.pipeline;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryFinderStage;
+import com.falco.recruitment.githubbrowser.ServedRepository;
+import com.falco.recruitment.githubbrowser.metrics.StageTimer;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.tracing.Trace;
+import com.falco.recruitment.githubbrowser.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Repository finder composed of finder beans listed in githubbrowser.pipeline, outermost first.
+ * Every bean but the last one must be {@link RepositoryFinderStage}, the last one is {@link RepositoryFinder} which
+ * calls no other finder: neither the pipeline itself nor a stage, whose own wired chain would bypass the declared one.
+ * Beans are resolved once and chained into direct calls, pipeline can be replaced at runtime (see {@link PipelineMvcEndpoint}).
+ * Every stage is a span of sampled request traces.
+ * Stages are chained through {@link RepositoryFinderStage#tryServe}, so staleness told by caching stage reaches controller.
+ */
+@Slf4j
+@Service
+@Primary
+public class PipelineRepositoryFinder implements RepositoryFinder {
+    public static final String PIPELINE = "${githubbrowser.pipeline}";
+    private final BeanFactory beanFactory;
+    private final StageTimer finderTimer;
+    private volatile Pipeline pipeline;
+
+    public PipelineRepositoryFinder(
+            @Autowired BeanFactory beanFactory,
+            @Autowired StageTimers stageTimers,
+            @Value(PIPELINE) String stages) {
+        this.beanFactory = beanFactory;
+        this.finderTimer = stageTimers.timer(StageTimers.FINDER);
+        this.pipeline = build(parse(stages));
+    }
+
+    @Override
+    public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
+        return tryServe(ownerRepository, eTag).map(ServedRepository::getRepository);
+    }
+
+    @Override
+    public Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag) {
+        long started = System.nanoTime();
+        try {
+            return pipeline.finder.tryServe(ownerRepository, eTag);
+        } finally {
+            finderTimer.recordSince(started);
+        }
+    }
+
+    public List<String> stages() {
+        return pipeline.stages;
+    }
+
+    /**
+     * Builds pipeline from comma separated bean names and swaps it in, lookups in flight finish on previous pipeline.
+     *
+     * @throws IllegalArgumentException when pipeline is empty or bean is missing or can not be placed at its position
+     */
+    public List<String> replace(String stages) {
+        Pipeline replacement = build(parse(stages));
+        pipeline = replacement;
+        LOG.info("Repository finder pipeline replaced with {}", replacement.stages);
+        return replacement.stages;
+    }
+
+    private Pipeline build(List<String> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Repository finder pipeline is empty");
+        }
+        String last = stages.get(stages.size() - 1);
+        RepositoryFinder leaf = bean(last, RepositoryFinder.class);
+        if (leaf == this || leaf instanceof RepositoryFinderStage) {
+            throw new IllegalArgumentException("Repository finder pipeline can not end with composite finder '" + last + "'");
+        }
+        RepositoryFinder finder = traced(last, leaf::tryServe);
+        for (int i = stages.size() - 2; i >= 0; i--) {
+            RepositoryFinderStage stage = bean(stages.get(i), RepositoryFinderStage.class);
+            RepositoryFinder next = finder;
+            finder = traced(stages.get(i), (ownerRepository, eTag) -> stage.tryServe(ownerRepository, eTag, next));
+        }
+        return new Pipeline(Collections.unmodifiableList(stages), finder);
+    }
+
+    private <T> T bean(String name, Class<T> type) {
+        try {
+            return beanFactory.getBean(name, type);
+        } catch (BeansException e) {
+            throw new IllegalArgumentException("Repository finder pipeline stage '" + name + "' is not " + type.getSimpleName(), e);
+        }
+    }
+
+    private static RepositoryFinder traced(String stage, ServingFinder finder) {
+        return new RepositoryFinder() {
+            @Override
+            public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
+                return tryServe(ownerRepository, eTag).map(ServedRepository::getRepository);
+            }
+
+            @Override
+            public Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag) {
+                Trace trace = Tracer.current();
+                if (trace == null) {
+                    return finder.tryServe(ownerRepository, eTag);
+                }
+                long started = System.nanoTime();
+                try {
+                    return finder.tryServe(ownerRepository, eTag);
+                } finally {
+                    trace.span(stage, started, System.nanoTime());
+                }
+            }
+        };
+    }
+
+    private static List<String> parse(String stages) {
+        return Arrays.stream(stages.split(","))
+                .map(String::trim)
+                .filter(stage -> !stage.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    @FunctionalInterface
+    private interface ServingFinder {
+        Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag);
+    }
+
+    private static class Pipeline {
+        private final List<String> stages;
+        private final RepositoryFinder finder;
+
+        private Pipeline(List<String> stages, RepositoryFinder finder) {
+            this.stages = stages;
+            this.finder = finder;
+        }
+    }
+}
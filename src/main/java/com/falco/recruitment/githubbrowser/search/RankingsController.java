@@ -0,0 +1,70 @@
+package com.falco.recruitment.githubbrowser.search;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+/**
+ * Top N and range queries over repositories held in cache, answered from {@link RepositoryRankings}.
+ */
+@RestController
+@RequestMapping(path = RankingsController.RANKINGS_URL)
+public class RankingsController {
+    public static final String RANKINGS_URL = "${githubbrowser.rankings.url}";
+    public static final String RANKINGS_MAX_LIMIT = "${githubbrowser.rankings.max.limit}";
+    private static final String DEFAULT_LIMIT = "10";
+    private static final String DESCENDING = "desc";
+    private static final String ASCENDING = "asc";
+    private final RepositoryRankings rankings;
+    private final int maxLimit;
+
+    public RankingsController(
+            @Autowired RepositoryRankings rankings,
+            @Value(RANKINGS_MAX_LIMIT) int maxLimit) {
+        this.rankings = rankings;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Most starred repositories by default.
+     */
+    @RequestMapping(path = "/stars", method = GET)
+    public ResponseEntity<List<Repository>> byStars(@RequestParam(name = "min", defaultValue = "0") int min,
+                                                    @RequestParam(name = "max", defaultValue = "" + Integer.MAX_VALUE) int max,
+                                                    @RequestParam(name = "limit", defaultValue = DEFAULT_LIMIT) int limit,
+                                                    @RequestParam(name = "order", defaultValue = DESCENDING) String order) {
+        if (!valid(limit, order)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rankings.byStars(min, max, limit, DESCENDING.equals(order)));
+    }
+
+    /**
+     * Newest repositories by default, bounds are ISO date-times at UTC.
+     */
+    @RequestMapping(path = "/created", method = GET)
+    public ResponseEntity<List<Repository>> byCreatedAt(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "limit", defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(name = "order", defaultValue = DESCENDING) String order) {
+        if (!valid(limit, order)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rankings.byCreatedAt(from, to, limit, DESCENDING.equals(order)));
+    }
+
+    private boolean valid(int limit, String order) {
+        return limit > 0 && limit <= maxLimit && (DESCENDING.equals(order) || ASCENDING.equals(order));
+    }
+}
@@ -0,0 +1,156 @@
+package com.falco.recruitment.githubbrowser.search;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCacheListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repositories held by {@link RepositoryCache} ordered by stars and by creation time, kept up to date
+ * as entries are fetched, changed and evicted, so top N and range queries do not scan the cache.
+ * Creation time is indexed as epoch second at UTC, repositories without it are left out of that index.
+ * Cache changes are only recorded per repository on the thread changing the entry, later change replacing earlier one,
+ * and applied to both indexes in batches by single writer, so cache writes never wait for the indexes.
+ * Queries see changes within the index interval.
+ */
+@Slf4j
+@Component
+public class RepositoryRankings implements RepositoryCacheListener, PublicMetrics {
+    public static final String INDEX_INTERVAL_MILLIS = "${githubbrowser.rankings.index.interval.millis}";
+    private static final String PREFIX = "githubbrowser.rankings.";
+    private final SortedRepositoryIndex byStars = new SortedRepositoryIndex(repository -> true, Repository::getStars);
+    private final SortedRepositoryIndex byCreatedAt = new SortedRepositoryIndex(
+            repository -> repository.getCreatedAt() != null, repository -> epochSecond(repository.getCreatedAt()));
+    /**
+     * Latest change of repository not applied yet, empty when removed.
+     */
+    private final Map<OwnerRepository, Optional<Repository>> pending = new ConcurrentHashMap<>();
+    private final Map<OwnerRepository, Repository> indexed = new HashMap<>();
+    private final ScheduledExecutorService writer;
+
+    public RepositoryRankings(
+            @Autowired RepositoryCache repositoryCache,
+            @Value(INDEX_INTERVAL_MILLIS) long intervalMillis) {
+        this.writer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("rankings-"));
+        writer.scheduleWithFixedDelay(this::applyPending, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        repositoryCache.addListener(this);
+    }
+
+    @Override
+    public void onPut(OwnerRepository key, Repository repository) {
+        pending.put(key, Optional.of(repository));
+    }
+
+    @Override
+    public void onRemoval(OwnerRepository key, Repository repository) {
+        pending.put(key, Optional.empty());
+    }
+
+    /**
+     * Applies recorded cache changes, every index publishes them at once.
+     */
+    public synchronized void applyPending() {
+        try {
+            for (OwnerRepository key : pending.keySet()) {
+                Optional<Repository> change = pending.remove(key);
+                if (change != null) {
+                    apply(key, change.orElse(null));
+                }
+            }
+            byStars.publish();
+            byCreatedAt.publish();
+        } catch (RuntimeException e) {
+            LOG.error("Updating repository rankings failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * @return repositories with stars within inclusive bounds, at most {@code limit}
+     */
+    public List<Repository> byStars(int min, int max, int limit, boolean descending) {
+        return byStars.range(min, max, limit, descending);
+    }
+
+    /**
+     * @param from inclusive, null for no bound
+     * @param to   inclusive, null for no bound
+     * @return repositories created within bounds, at most {@code limit}
+     */
+    public List<Repository> byCreatedAt(LocalDateTime from, LocalDateTime to, int limit, boolean descending) {
+        return byCreatedAt.range(from == null ? Long.MIN_VALUE : epochSecond(from), to == null ? Long.MAX_VALUE : epochSecond(to),
+                limit, descending);
+    }
+
+    public int size() {
+        return byStars.size();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(
+                new Metric<>(PREFIX + "stars.size", byStars.size()),
+                new Metric<>(PREFIX + "created.size", byCreatedAt.size()),
+                new Metric<>(PREFIX + "pending", pending.size()));
+    }
+
+    /**
+     * @param repository to index, null when removed
+     */
+    private void apply(OwnerRepository key, Repository repository) {
+        Repository previous = repository == null ? indexed.remove(key) : indexed.put(key, repository);
+        if ((previous == null && repository == null) || (repository != null && repository.equals(previous))) {
+            return;
+        }
+        update(byStars, key, previous, repository);
+        update(byCreatedAt, key, previous, repository);
+    }
+
+    /**
+     * @param previous   repository indexed so far, null when there is none
+     * @param repository repository to index instead, null when removed
+     */
+    private static void update(SortedRepositoryIndex index, OwnerRepository key, Repository previous, Repository repository) {
+        Repository from = previous != null && index.covers(previous) ? previous : null;
+        Repository to = repository != null && index.covers(repository) ? repository : null;
+        if (from != null && to != null && index.valueOf(from) == index.valueOf(to)) {
+            index.replace(key, from, to);
+            return;
+        }
+        if (from != null) {
+            index.remove(key, from);
+        }
+        if (to != null) {
+            index.insert(key, to);
+        }
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,40 @@
+package com.falco.recruitment.githubbrowser.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+/**
+ * Searches repositories held in cache by words of their name, full name and description, Github is not called.
+ */
+@RestController
+@RequestMapping(path = RepositorySearchController.SEARCH_URL)
+public class RepositorySearchController {
+    public static final String SEARCH_URL = "${githubbrowser.search.url}";
+    public static final String SEARCH_MAX_PAGE_SIZE = "${githubbrowser.search.max.page.size}";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private final RepositorySearchIndex index;
+    private final int maxPageSize;
+
+    public RepositorySearchController(
+            @Autowired RepositorySearchIndex index,
+            @Value(SEARCH_MAX_PAGE_SIZE) int maxPageSize) {
+        this.index = index;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @RequestMapping(method = GET)
+    public ResponseEntity<SearchResult> search(@RequestParam("q") String query,
+                                               @RequestParam(name = "page", defaultValue = "0") int page,
+                                               @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(index.search(query, page, size));
+    }
+}
@@ -0,0 +1,402 @@
+package com.falco.recruitment.githubbrowser.search;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCacheListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index of words in name, full name and description of repositories held by {@link RepositoryCache},
+ * kept up to date as entries are fetched, changed and evicted, so search never calls Github.
+ * Repositories are numbered and every word maps to immutable sorted array of repository numbers with
+ * per repository weights, replaced as a whole on change: queries read without locking while single writer
+ * updates the index. Cache changes are only recorded per repository on the thread changing the entry,
+ * later change replacing earlier one, and applied by the writer in batches, every changed word rebuilt once per batch,
+ * so cache writes never wait for the index. Repository numbers are reused, hits are checked against current words
+ * of the repository, so a query never returns repository not matching it.
+ * Words found in name weigh more than words of owner or description, results are ranked by summed weights
+ * scaled by word rarity (idf), then by stars.
+ */
+@Slf4j
+@Component
+public class RepositorySearchIndex implements RepositoryCacheListener, PublicMetrics {
+    public static final String INDEX_INTERVAL_MILLIS = "${githubbrowser.search.index.interval.millis}";
+    static final int NAME_WEIGHT = 4;
+    static final int FULL_NAME_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+    private static final String PREFIX = "githubbrowser.search.";
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble((Hit hit) -> hit.score)
+            .thenComparingInt(hit -> hit.document.repository.getStars())
+            .thenComparing(hit -> hit.document.key.toString(), Comparator.reverseOrder())
+            .reversed();
+    private final ConcurrentHashMap<String, Postings> postings = new ConcurrentHashMap<>();
+    /**
+     * Latest change of repository not applied yet, empty when removed.
+     */
+    private final Map<OwnerRepository, Optional<Repository>> pending = new ConcurrentHashMap<>();
+    private final Map<OwnerRepository, Integer> numbers = new HashMap<>();
+    private final LongAdder queries = new LongAdder();
+    private volatile AtomicReferenceArray<Document> documents = new AtomicReferenceArray<>(1024);
+    private volatile int size;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int next;
+    private final ScheduledExecutorService writer;
+
+    public RepositorySearchIndex(
+            @Autowired RepositoryCache repositoryCache,
+            @Value(INDEX_INTERVAL_MILLIS) long intervalMillis) {
+        this.writer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("search-index-"));
+        writer.scheduleWithFixedDelay(this::applyPending, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        repositoryCache.addListener(this);
+    }
+
+    @Override
+    public void onPut(OwnerRepository key, Repository repository) {
+        pending.put(key, Optional.of(repository));
+    }
+
+    @Override
+    public void onRemoval(OwnerRepository key, Repository repository) {
+        pending.put(key, Optional.empty());
+    }
+
+    /**
+     * Applies recorded cache changes, postings of every changed word are rebuilt once.
+     */
+    public synchronized void applyPending() {
+        try {
+            Map<String, SortedMap<Integer, Short>> changedWords = new HashMap<>();
+            for (OwnerRepository key : pending.keySet()) {
+                Optional<Repository> change = pending.remove(key);
+                if (change != null) {
+                    apply(key, change, changedWords);
+                }
+            }
+            changedWords.forEach((word, changes) -> postings.compute(word, (key, list) -> Postings.merge(list, changes)));
+        } catch (RuntimeException e) {
+            LOG.error("Updating search index failed", e);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * Repositories containing all words of query.
+     *
+     * @param page zero based
+     */
+    public SearchResult search(String query, int page, int pageSize) {
+        queries.increment();
+        String[] words = words(query).keySet().toArray(new String[0]);
+        TopHits top = words.length == 0 ? TopHits.NONE : topHits(words, (long) (page + 1) * pageSize);
+        List<Repository> repositories = top.hits.stream()
+                .skip((long) page * pageSize)
+                .map(hit -> hit.document.repository)
+                .collect(Collectors.toList());
+        return new SearchResult(query, top.total, page, pageSize, repositories);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(
+                new Metric<>(PREFIX + "repositories", size),
+                new Metric<>(PREFIX + "words", postings.size()),
+                new Metric<>(PREFIX + "pending", pending.size()),
+                new Metric<>(PREFIX + "queries", queries.sum()));
+    }
+
+    /**
+     * @return at most {@code limit} best hits ordered by rank
+     */
+    private TopHits topHits(String[] words, long limit) {
+        Postings[] lists = new Postings[words.length];
+        for (int i = 0; i < words.length; i++) {
+            lists[i] = postings.get(words[i]);
+            if (lists[i] == null) {
+                return TopHits.NONE;
+            }
+        }
+        //walk the shortest list, probe the others
+        Integer[] order = new Integer[words.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> lists[i].numbers.length));
+        AtomicReferenceArray<Document> documents = this.documents;
+        double repositories = Math.max(1, size);
+        int capacity = (int) Math.min(limit, lists[order[0]].numbers.length);
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.max(1, capacity), RANKING.reversed());
+        int total = 0;
+        Postings shortest = lists[order[0]];
+        candidates:
+        for (int i = 0; i < shortest.numbers.length; i++) {
+            int number = shortest.numbers[i];
+            double score = 0;
+            for (int w : order) {
+                int weight = lists[w].weight(number);
+                if (weight == 0) {
+                    continue candidates;
+                }
+                score += weight * Math.log(1 + repositories / lists[w].numbers.length);
+            }
+            Document document = number < documents.length() ? documents.get(number) : null;
+            if (document == null || !document.containsAll(words)) {
+                continue;
+            }
+            total++;
+            if (best.size() < limit) {
+                best.add(new Hit(document, score));
+            } else if (RANKING.compare(new Hit(document, score), best.peek()) < 0) {
+                best.poll();
+                best.add(new Hit(document, score));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return new TopHits(hits, total);
+    }
+
+    /**
+     * Updates documents right away and records postings changes of their words, weight 0 removes number from word.
+     * Number released and reused within batch gets removal of previous words overridden by words of its new repository.
+     */
+    private void apply(OwnerRepository key, Optional<Repository> change, Map<String, SortedMap<Integer, Short>> changedWords) {
+        Integer number = numbers.get(key);
+        Document previous = number == null ? null : documents.get(number);
+        if (!change.isPresent()) {
+            if (number == null) {
+                return;
+            }
+            numbers.remove(key);
+            documents.set(number, null);
+            unpost(number, previous, changedWords);
+            release(number);
+            size = numbers.size();
+            return;
+        }
+        Document document = Document.of(key, change.get());
+        if (number == null) {
+            number = allocate();
+            numbers.put(key, number);
+            size = numbers.size();
+        }
+        //words are checked on hit, so repository is replaced before its postings
+        documents.set(number, document);
+        if (previous != null && previous.sameWords(document)) {
+            return;
+        }
+        if (previous != null) {
+            unpost(number, previous, changedWords);
+        }
+        for (int i = 0; i < document.words.length; i++) {
+            changedWords.computeIfAbsent(document.words[i], word -> new TreeMap<>()).put(number, document.weights[i]);
+        }
+    }
+
+    private static void unpost(int number, Document document, Map<String, SortedMap<Integer, Short>> changedWords) {
+        for (String word : document.words) {
+            changedWords.computeIfAbsent(word, key -> new TreeMap<>()).put(number, (short) 0);
+        }
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (next == documents.length()) {
+            AtomicReferenceArray<Document> grown = new AtomicReferenceArray<>(next * 2);
+            for (int i = 0; i < next; i++) {
+                grown.set(i, documents.get(i));
+            }
+            documents = grown;
+        }
+        return next++;
+    }
+
+    private void release(int number) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = number;
+    }
+
+    /**
+     * @return distinct lower case words with summed weights of fields they were found in, sorted
+     */
+    private static TreeMap<String, Integer> words(String text, int weight, TreeMap<String, Integer> words) {
+        if (text != null) {
+            for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty()) {
+                    words.merge(word, weight, Integer::sum);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static TreeMap<String, Integer> words(String query) {
+        return words(query, 1, new TreeMap<>());
+    }
+
+    private static final class Document {
+        private final OwnerRepository key;
+        private final Repository repository;
+        private final String[] words;
+        private final short[] weights;
+
+        private Document(OwnerRepository key, Repository repository, String[] words, short[] weights) {
+            this.key = key;
+            this.repository = repository;
+            this.words = words;
+            this.weights = weights;
+        }
+
+        private static Document of(OwnerRepository key, Repository repository) {
+            TreeMap<String, Integer> words = words(repository.getName(), NAME_WEIGHT, new TreeMap<>());
+            words(repository.getFullName(), FULL_NAME_WEIGHT, words);
+            words(repository.getDescription(), DESCRIPTION_WEIGHT, words);
+            short[] weights = new short[words.size()];
+            int i = 0;
+            for (int weight : words.values()) {
+                weights[i++] = (short) Math.min(weight, Short.MAX_VALUE);
+            }
+            return new Document(key, repository, words.keySet().toArray(new String[0]), weights);
+        }
+
+        private boolean sameWords(Document other) {
+            return Arrays.equals(words, other.words) && Arrays.equals(weights, other.weights);
+        }
+
+        private boolean containsAll(String[] query) {
+            for (String word : query) {
+                if (Arrays.binarySearch(words, word) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Repository numbers containing a word in ascending order with parallel weights, never modified once built.
+     */
+    private static final class Postings {
+        private final int[] numbers;
+        private final short[] weights;
+
+        private Postings(int[] numbers, short[] weights) {
+            this.numbers = numbers;
+            this.weights = weights;
+        }
+
+        /**
+         * @return 0 when number is not listed
+         */
+        private int weight(int number) {
+            int i = Arrays.binarySearch(numbers, number);
+            return i < 0 ? 0 : weights[i];
+        }
+
+        /**
+         * Merges sorted changes into list in one pass.
+         *
+         * @param list    null when word is not indexed yet
+         * @param changes weights by number, 0 removing the number
+         * @return null when no number is left, which removes the word
+         */
+        private static Postings merge(Postings list, SortedMap<Integer, Short> changes) {
+            int[] numbers = list == null ? new int[0] : list.numbers;
+            short[] weights = list == null ? new short[0] : list.weights;
+            int[] mergedNumbers = new int[numbers.length + changes.size()];
+            short[] mergedWeights = new short[mergedNumbers.length];
+            int size = 0;
+            int i = 0;
+            for (Map.Entry<Integer, Short> change : changes.entrySet()) {
+                int number = change.getKey();
+                while (i < numbers.length && numbers[i] < number) {
+                    mergedNumbers[size] = numbers[i];
+                    mergedWeights[size++] = weights[i++];
+                }
+                if (i < numbers.length && numbers[i] == number) {
+                    i++;
+                }
+                if (change.getValue() != 0) {
+                    mergedNumbers[size] = number;
+                    mergedWeights[size++] = change.getValue();
+                }
+            }
+            while (i < numbers.length) {
+                mergedNumbers[size] = numbers[i];
+                mergedWeights[size++] = weights[i++];
+            }
+            if (size == 0) {
+                return null;
+            }
+            return new Postings(Arrays.copyOf(mergedNumbers, size), Arrays.copyOf(mergedWeights, size));
+        }
+    }
+
+    private static final class Hit {
+        private final Document document;
+        private final double score;
+
+        private Hit(Document document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    private static final class TopHits {
+        private static final TopHits NONE = new TopHits(Collections.emptyList(), 0);
+        private final List<Hit> hits;
+        private final int total;
+
+        private TopHits(List<Hit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.falco.recruitment.githubbrowser.search;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SearchResult {
+    private final String query;
+    /**
+     * Repositories matching query on all pages.
+     */
+    private final int total;
+    private final int page;
+    private final int size;
+    private final List<Repository> repositories;
+}
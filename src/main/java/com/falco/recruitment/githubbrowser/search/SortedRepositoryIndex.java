@@ -0,0 +1,306 @@
+package com.falco.recruitment.githubbrowser.search;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Repositories ordered by a numeric property, answering top N and range queries.
+ * Repositories are kept in chunks of at most {@link #CHUNK_SIZE} entries, every chunk an immutable sorted
+ * primitive array of values with parallel arrays of keys and repositories, ordered by value and then by key.
+ * Changes are recorded by single writer and published in batches: only chunks touched by the batch are rebuilt,
+ * split when grown over chunk size and joined with neighbour when shrunk, then the chunk list is swapped as a whole.
+ * Queries read a published chunk list without locking and never see half applied batch.
+ */
+class SortedRepositoryIndex {
+    static final int CHUNK_SIZE = 256;
+    private static final Chunk[] EMPTY = new Chunk[0];
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry entry) -> entry.value)
+            .thenComparing(entry -> entry.key.getOwner())
+            .thenComparing(entry -> entry.key.getRepository());
+    private final Predicate<Repository> covered;
+    private final ToLongFunction<Repository> property;
+    private final List<Entry> removed = new ArrayList<>();
+    private final List<Entry> inserted = new ArrayList<>();
+    private volatile Chunk[] chunks = EMPTY;
+    private volatile int size;
+
+    /**
+     * @param covered  repositories having the property
+     * @param property value repositories are ordered by
+     */
+    SortedRepositoryIndex(Predicate<Repository> covered, ToLongFunction<Repository> property) {
+        this.covered = covered;
+        this.property = property;
+    }
+
+    boolean covers(Repository repository) {
+        return covered.test(repository);
+    }
+
+    long valueOf(Repository repository) {
+        return property.applyAsLong(repository);
+    }
+
+    /**
+     * Records insert, visible to queries once batch is published. Every key is changed at most once per batch.
+     */
+    void insert(OwnerRepository key, Repository repository) {
+        inserted.add(new Entry(valueOf(repository), key, repository));
+    }
+
+    /**
+     * @param repository as inserted, tells where to look for the key
+     */
+    void remove(OwnerRepository key, Repository repository) {
+        removed.add(new Entry(valueOf(repository), key, null));
+    }
+
+    /**
+     * Swaps repository of unchanged value, which stays at its position.
+     */
+    void replace(OwnerRepository key, Repository previous, Repository repository) {
+        remove(key, previous);
+        insert(key, repository);
+    }
+
+    /**
+     * Applies recorded changes, rebuilding only chunks they fall into.
+     */
+    void publish() {
+        if (removed.isEmpty() && inserted.isEmpty()) {
+            return;
+        }
+        Chunk[] current = chunks;
+        TreeMap<Integer, Changes> touched = new TreeMap<>();
+        removed.forEach(entry -> touched.computeIfAbsent(chunkOf(current, entry), i -> new Changes()).removed.add(entry.key));
+        inserted.forEach(entry -> touched.computeIfAbsent(chunkOf(current, entry), i -> new Changes()).inserted.add(entry));
+        List<Chunk> published = new ArrayList<>(current.length + touched.size());
+        int changedSize = size - removed.size() + inserted.size();
+        for (int i = 0; i < current.length || (i == 0 && touched.containsKey(0)); i++) {
+            Changes changes = touched.get(i);
+            if (changes == null) {
+                append(published, current[i]);
+            } else {
+                rebuilt(i < current.length ? current[i] : null, changes).forEach(chunk -> append(published, chunk));
+            }
+        }
+        removed.clear();
+        inserted.clear();
+        chunks = published.toArray(EMPTY);
+        size = changedSize;
+    }
+
+    /**
+     * @return repositories with value within inclusive bounds, at most {@code limit}, highest or lowest values first
+     */
+    List<Repository> range(long from, long to, int limit, boolean descending) {
+        if (from > to || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Chunk[] snapshot = chunks;
+        List<Repository> found = new ArrayList<>(Math.min(limit, size));
+        if (descending) {
+            int c = lastChunkStartingAtMost(snapshot, to);
+            int i = c < 0 ? -1 : snapshot[c].lastAtMost(to);
+            while (c >= 0 && found.size() < limit) {
+                if (i < 0) {
+                    c--;
+                    i = c < 0 ? -1 : snapshot[c].values.length - 1;
+                } else if (snapshot[c].values[i] < from) {
+                    break;
+                } else {
+                    found.add(snapshot[c].repositories[i--]);
+                }
+            }
+        } else {
+            int c = Math.max(0, lastChunkStartingBelow(snapshot, from));
+            int i = c < snapshot.length ? snapshot[c].firstAtLeast(from) : 0;
+            while (c < snapshot.length && found.size() < limit) {
+                if (i == snapshot[c].values.length) {
+                    c++;
+                    i = 0;
+                } else if (snapshot[c].values[i] > to) {
+                    break;
+                } else {
+                    found.add(snapshot[c].repositories[i++]);
+                }
+            }
+        }
+        return found;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Last chunk whose first entry is not after the entry, first chunk when entry precedes all of them.
+     */
+    private static int chunkOf(Chunk[] chunks, Entry entry) {
+        int low = 0;
+        int high = chunks.length - 1;
+        int found = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (ORDER.compare(chunks[middle].first(), entry) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int lastChunkStartingBelow(Chunk[] chunks, long value) {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (chunks[middle].values[0] < value) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private static int lastChunkStartingAtMost(Chunk[] chunks, long value) {
+        return value == Long.MAX_VALUE ? chunks.length - 1 : lastChunkStartingBelow(chunks, value + 1);
+    }
+
+    /**
+     * Entries of chunk without removed keys merged with inserted entries, split into chunks of at most chunk size.
+     */
+    private static List<Chunk> rebuilt(Chunk chunk, Changes changes) {
+        changes.inserted.sort(ORDER);
+        int length = chunk == null ? 0 : chunk.values.length;
+        List<Entry> merged = new ArrayList<>(length + changes.inserted.size());
+        int next = 0;
+        for (int i = 0; i < length; i++) {
+            if (changes.removed.contains(chunk.keys[i])) {
+                continue;
+            }
+            Entry kept = chunk.entry(i);
+            while (next < changes.inserted.size() && ORDER.compare(changes.inserted.get(next), kept) < 0) {
+                merged.add(changes.inserted.get(next++));
+            }
+            merged.add(kept);
+        }
+        merged.addAll(changes.inserted.subList(next, changes.inserted.size()));
+        if (merged.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int pieces = (merged.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Chunk> split = new ArrayList<>(pieces);
+        for (int piece = 0; piece < pieces; piece++) {
+            split.add(Chunk.of(merged.subList(merged.size() * piece / pieces, merged.size() * (piece + 1) / pieces)));
+        }
+        return split;
+    }
+
+    /**
+     * Joins chunk with preceding one while both fit into half of chunk size, so removals do not leave many tiny chunks.
+     */
+    private static void append(List<Chunk> chunks, Chunk chunk) {
+        Chunk previous = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (previous != null && previous.values.length + chunk.values.length <= CHUNK_SIZE / 2) {
+            chunks.set(chunks.size() - 1, previous.joined(chunk));
+        } else {
+            chunks.add(chunk);
+        }
+    }
+
+    private static final class Entry {
+        private final long value;
+        private final OwnerRepository key;
+        private final Repository repository;
+
+        private Entry(long value, OwnerRepository key, Repository repository) {
+            this.value = value;
+            this.key = key;
+            this.repository = repository;
+        }
+    }
+
+    private static final class Changes {
+        private final Set<OwnerRepository> removed = new HashSet<>();
+        private final List<Entry> inserted = new ArrayList<>();
+    }
+
+    /**
+     * Non-empty run of entries, never modified once published.
+     */
+    private static final class Chunk {
+        private final long[] values;
+        private final OwnerRepository[] keys;
+        private final Repository[] repositories;
+
+        private Chunk(long[] values, OwnerRepository[] keys, Repository[] repositories) {
+            this.values = values;
+            this.keys = keys;
+            this.repositories = repositories;
+        }
+
+        private static Chunk of(List<Entry> entries) {
+            long[] values = new long[entries.size()];
+            OwnerRepository[] keys = new OwnerRepository[entries.size()];
+            Repository[] repositories = new Repository[entries.size()];
+            for (int i = 0; i < values.length; i++) {
+                Entry entry = entries.get(i);
+                values[i] = entry.value;
+                keys[i] = entry.key;
+                repositories[i] = entry.repository;
+            }
+            return new Chunk(values, keys, repositories);
+        }
+
+        private Entry entry(int i) {
+            return new Entry(values[i], keys[i], repositories[i]);
+        }
+
+        private Entry first() {
+            return entry(0);
+        }
+
+        private Chunk joined(Chunk next) {
+            long[] joinedValues = Arrays.copyOf(values, values.length + next.values.length);
+            OwnerRepository[] joinedKeys = Arrays.copyOf(keys, joinedValues.length);
+            Repository[] joinedRepositories = Arrays.copyOf(repositories, joinedValues.length);
+            System.arraycopy(next.values, 0, joinedValues, values.length, next.values.length);
+            System.arraycopy(next.keys, 0, joinedKeys, values.length, next.values.length);
+            System.arraycopy(next.repositories, 0, joinedRepositories, values.length, next.values.length);
+            return new Chunk(joinedValues, joinedKeys, joinedRepositories);
+        }
+
+        private int firstAtLeast(long value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int lastAtMost(long value) {
+            return value == Long.MAX_VALUE ? values.length - 1 : firstAtLeast(value + 1) - 1;
+        }
+    }
+}
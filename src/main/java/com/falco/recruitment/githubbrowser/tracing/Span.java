@@ -0,0 +1,14 @@
+package com.falco.recruitment.githubbrowser.tracing;
+
+import lombok.Value;
+
+/**
+ * Timed part of traced request, start is relative to start of the trace.
+ */
+@Value
+public class Span {
+    private final String name;
+    private final String thread;
+    private final long startMicros;
+    private final long durationMicros;
+}
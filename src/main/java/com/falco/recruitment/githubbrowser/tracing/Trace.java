@@ -0,0 +1,62 @@
+package com.falco.recruitment.githubbrowser.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spans of one sampled request. Spans may be added from other threads the request is handed over to,
+ * so they are guarded by the trace.
+ */
+public class Trace {
+    private final String id;
+    private final String name;
+    private final Instant startedAt;
+    private final long startedNanos;
+    private final List<Span> spans = new ArrayList<>();
+    private volatile long durationMicros = -1;
+
+    Trace(String id, String name, Instant startedAt, long startedNanos) {
+        this.id = id;
+        this.name = name;
+        this.startedAt = startedAt;
+        this.startedNanos = startedNanos;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Negative while request is in progress.
+     */
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public void span(String name, long startedNanos, long endedNanos) {
+        Span span = new Span(name, Thread.currentThread().getName(),
+                TimeUnit.NANOSECONDS.toMicros(startedNanos - this.startedNanos),
+                TimeUnit.NANOSECONDS.toMicros(endedNanos - startedNanos));
+        synchronized (this) {
+            spans.add(span);
+        }
+    }
+
+    void finish(long endedNanos) {
+        durationMicros = TimeUnit.NANOSECONDS.toMicros(endedNanos - startedNanos);
+    }
+}
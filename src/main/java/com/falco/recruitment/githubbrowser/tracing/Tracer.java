@@ -0,0 +1,87 @@
+package com.falco.recruitment.githubbrowser.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traces sampled share of requests and keeps the most recent finished traces in a ring buffer (see {@link TracesEndpoint}).
+ * Trace of current request is bound to thread, instrumented code adds spans through {@link #current()},
+ * which is a single thread local read for requests which are not sampled.
+ * Trace is not handed over to other threads: Github lookups run on the request thread, Hystrix command
+ * of the circuit breaker uses semaphore isolation.
+ */
+@Component
+public class Tracer {
+    public static final String SAMPLING_RATE = "${githubbrowser.tracing.sampling.rate}";
+    public static final String BUFFER_SIZE = "${githubbrowser.tracing.buffer.size}";
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private final LongAdder sampled = new LongAdder();
+    private final AtomicLong exported = new AtomicLong();
+    private final AtomicReferenceArray<Trace> buffer;
+    private final double samplingRate;
+
+    public Tracer(@Value(SAMPLING_RATE) double samplingRate, @Value(BUFFER_SIZE) int bufferSize) {
+        this.samplingRate = samplingRate;
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds span ending now to trace of current request, when it is sampled.
+     */
+    public static void span(String name, long startedNanos) {
+        Trace trace = CURRENT.get();
+        if (trace != null) {
+            trace.span(name, startedNanos, System.nanoTime());
+        }
+    }
+
+    /**
+     * Starts trace bound to current thread, or returns null when request is not sampled.
+     */
+    public Trace startIfSampled(String name) {
+        if (samplingRate <= 0 || ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return null;
+        }
+        sampled.increment();
+        Trace trace = new Trace(String.format("%016x", ThreadLocalRandom.current().nextLong()), name, Instant.now(), System.nanoTime());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public void finish(Trace trace) {
+        trace.finish(System.nanoTime());
+        CURRENT.remove();
+        buffer.set((int) (exported.getAndIncrement() % buffer.length()), trace);
+    }
+
+    /**
+     * Finished traces, most recent first.
+     */
+    public List<Trace> recent() {
+        long last = exported.get();
+        List<Trace> traces = new ArrayList<>();
+        for (long i = last - 1; i >= 0 && i >= last - buffer.length(); i--) {
+            Trace trace = buffer.get((int) (i % buffer.length()));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public long sampledCount() {
+        return sampled.sum();
+    }
+}
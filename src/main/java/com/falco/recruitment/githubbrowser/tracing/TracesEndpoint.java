@@ -0,0 +1,25 @@
+package com.falco.recruitment.githubbrowser.tracing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Most recent sampled request traces with their spans on /traces.
+ */
+@Component
+public class TracesEndpoint extends AbstractEndpoint<List<Trace>> {
+    private final Tracer tracer;
+
+    public TracesEndpoint(@Autowired Tracer tracer) {
+        super("traces", true);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public List<Trace> invoke() {
+        return tracer.recent();
+    }
+}
@@ -0,0 +1,41 @@
+package com.falco.recruitment.githubbrowser.tracing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Starts trace for sampled requests, trace id is returned in {@value #TRACE_ID_HEADER} header.
+ * Asynchronous requests are traced until servlet thread is released only.
+ */
+@Component
+public class TracingFilter extends OncePerRequestFilter {
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    private final Tracer tracer;
+
+    public TracingFilter(@Autowired Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Trace trace = tracer.startIfSampled(request.getMethod() + " " + request.getRequestURI());
+        if (trace == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(TRACE_ID_HEADER, trace.getId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracer.finish(trace);
+        }
+    }
+}
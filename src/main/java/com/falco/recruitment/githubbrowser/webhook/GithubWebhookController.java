@@ -0,0 +1,74 @@
+package com.falco.recruitment.githubbrowser.webhook;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryParser;
+import com.falco.recruitment.githubbrowser.integration.GithubWebhookPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+
+/**
+ * Receives Github webhook deliveries of repository, star and push events, so cached repositories change when
+ * they change on Github rather than when max age expires. Deliveries are acknowledged once signature is verified
+ * and event queued, cache is updated by the next batch of {@link WebhookEvents}.
+ * Hook is expected to deliver json ({@code application/json} content type).
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = GithubWebhookController.WEBHOOK_URL)
+public class GithubWebhookController {
+    public static final String WEBHOOK_URL = "${githubbrowser.webhook.url}";
+    private static final List<String> HANDLED_EVENTS = Arrays.asList("repository", "star", "push");
+    private final GithubRepositoryParser parser = new GithubRepositoryParser();
+    private final WebhookSignature signature;
+    private final WebhookEvents events;
+
+    public GithubWebhookController(
+            @Autowired WebhookSignature signature,
+            @Autowired WebhookEvents events) {
+        this.signature = signature;
+        this.events = events;
+    }
+
+    @RequestMapping(method = POST, consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> deliver(@RequestHeader("X-GitHub-Event") String event,
+                                        @RequestHeader(name = "X-GitHub-Delivery", required = false) String deliveryId,
+                                        @RequestHeader(name = "X-Hub-Signature-256", required = false) String signature256,
+                                        @RequestHeader(name = "X-Hub-Signature", required = false) String signature1,
+                                        @RequestBody byte[] payload) {
+        if (!signature.verify(payload, signature256, signature1)) {
+            LOG.warn("Rejecting webhook delivery {} of '{}' event, signature does not match", deliveryId, event);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!HANDLED_EVENTS.contains(event)) {
+            LOG.debug("Ignoring webhook delivery {} of '{}' event", deliveryId, event);
+            return ResponseEntity.noContent().build();
+        }
+        GithubWebhookPayload githubPayload;
+        try {
+            githubPayload = parser.parseWebhookPayload(new ByteArrayInputStream(payload));
+        } catch (JsonProcessingException e) {
+            LOG.warn("Webhook delivery {} of '{}' event can not be read: {}", deliveryId, event, e.getOriginalMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        if (!events.offer(deliveryId, event, githubPayload)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.falco.recruitment.githubbrowser.webhook;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.integration.GithubWebhookPayload;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+
+/**
+ * Turns repository, star and push webhook events into changes of {@link RepositoryCache} entries:
+ * event payload carries repository as it is after the event, but without Github ETag, so cached repository which differs
+ * from it is invalidated (to be fetched with new ETag on next lookup) rather than replaced, and only just created
+ * or publicized repository is put. Deleted or privatized repository (and old name of renamed or transferred one)
+ * is invalidated. Changes are kept per repository until next batch, later change replaces earlier one, so a burst
+ * of events of a busy repository costs single cache write. Redelivered events are recognized by delivery id and dropped.
+ */
+@Slf4j
+@Component
+public class WebhookEvents {
+    public static final String BATCH_INTERVAL_MILLIS = "${githubbrowser.webhook.batch.interval.millis}";
+    public static final String MAX_PENDING = "${githubbrowser.webhook.max.pending}";
+    private static final int DELIVERIES_REMEMBERED = 10000;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder redelivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final Map<OwnerRepository, Change> pending = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> deliveries = Caffeine.newBuilder()
+            .maximumSize(DELIVERIES_REMEMBERED)
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .build();
+    private final RepositoryCache repositoryCache;
+    private final int maxPending;
+    private final ScheduledExecutorService writer;
+
+    public WebhookEvents(
+            @Autowired RepositoryCache repositoryCache,
+            @Value(BATCH_INTERVAL_MILLIS) long batchIntervalMillis,
+            @Value(MAX_PENDING) int maxPending) {
+        this.repositoryCache = repositoryCache;
+        this.maxPending = maxPending;
+        this.writer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("webhook-"));
+        writer.scheduleWithFixedDelay(this::applyPending, batchIntervalMillis, batchIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param deliveryId {@code X-GitHub-Delivery} header or null
+     * @return false when too many repositories are waiting for batch and event was rejected
+     */
+    public boolean offer(String deliveryId, String event, GithubWebhookPayload payload) {
+        received.increment();
+        if (deliveryId != null && deliveries.getIfPresent(deliveryId) != null) {
+            LOG.debug("Dropping redelivered webhook event {}", deliveryId);
+            redelivered.increment();
+            return true;
+        }
+        if (!addAll(changes(event, payload))) {
+            return false;
+        }
+        if (deliveryId != null) {
+            deliveries.put(deliveryId, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    /**
+     * Writes pending changes into cache, repositories not cached are put only when they were just created or made public.
+     */
+    public synchronized void applyPending() {
+        try {
+            for (OwnerRepository key : pending.keySet()) {
+                Change change = pending.remove(key);
+                if (change != null) {
+                    apply(key, change);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Applying webhook changes failed", e);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public long receivedCount() {
+        return received.sum();
+    }
+
+    public long redeliveredCount() {
+        return redelivered.sum();
+    }
+
+    /**
+     * @return events replaced by later event of the same repository before being applied
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long appliedCount() {
+        return applied.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.shutdownNow();
+    }
+
+    private static Map<OwnerRepository, Change> changes(String event, GithubWebhookPayload payload) {
+        Optional<Repository> repository = payload.currentRepository();
+        if (!repository.isPresent()) {
+            return Collections.emptyMap();
+        }
+        Map<OwnerRepository, Change> changes = new HashMap<>();
+        OwnerRepository key = repository.get().ownerRepository().normalized();
+        String action = payload.action().orElse("");
+        if ("repository".equals(event) && ("renamed".equals(action) || "transferred".equals(action))) {
+            OwnerRepository previous = ownerRepository(
+                    payload.previousOwner().orElse(repository.get().getOwner()),
+                    payload.previousName().orElse(repository.get().getName())).normalized();
+            changes.put(previous, Change.INVALIDATE);
+        }
+        if ("repository".equals(event) && ("deleted".equals(action) || "privatized".equals(action))) {
+            changes.put(key, Change.INVALIDATE);
+        } else {
+            boolean appeared = "repository".equals(event) && ("created".equals(action) || "publicized".equals(action));
+            changes.put(key, new Change(repository.get(), appeared));
+        }
+        return changes;
+    }
+
+    /**
+     * Queues all changes of an event or none of them, when repositories not pending yet would not fit.
+     */
+    private boolean addAll(Map<OwnerRepository, Change> changes) {
+        long added = changes.keySet().stream().filter(key -> !pending.containsKey(key)).count();
+        if (added > 0 && pending.size() + added > maxPending) {
+            rejected.increment();
+            return false;
+        }
+        changes.forEach((key, change) -> {
+            if (pending.put(key, change) != null) {
+                coalesced.increment();
+            }
+        });
+        return true;
+    }
+
+    private void apply(OwnerRepository key, Change change) {
+        Optional<Repository> cached = repositoryCache.get(key).map(cachedRepository -> cachedRepository.getRepository());
+        if (change.repository == null || cached.isPresent() && !sameContent(cached.get(), change.repository)) {
+            repositoryCache.invalidate(key);
+        } else if (change.appeared && !cached.isPresent()) {
+            repositoryCache.put(key, change.repository);
+        } else {
+            return;
+        }
+        applied.increment();
+    }
+
+    private static boolean sameContent(Repository cached, Repository changed) {
+        return cached.toBuilder().eTag(changed.getETag()).build().equals(changed);
+    }
+
+    /**
+     * Repository to cache or invalidation.
+     */
+    private static final class Change {
+        private static final Change INVALIDATE = new Change(null, false);
+        private final Repository repository;
+        /**
+         * Repository was just created or made public, so it is put even when not cached.
+         */
+        private final boolean appeared;
+
+        private Change(Repository repository, boolean appeared) {
+            this.repository = repository;
+            this.appeared = appeared;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.falco.recruitment.githubbrowser.webhook;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@Component
+public class WebhookMetrics implements PublicMetrics {
+    private static final String PREFIX = "githubbrowser.webhook.";
+    private final WebhookEvents events;
+    private final WebhookSignature signature;
+
+    public WebhookMetrics(
+            @Autowired WebhookEvents events,
+            @Autowired WebhookSignature signature) {
+        this.events = events;
+        this.signature = signature;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(
+                new Metric<>(PREFIX + "received", events.receivedCount()),
+                new Metric<>(PREFIX + "redelivered", events.redeliveredCount()),
+                new Metric<>(PREFIX + "coalesced", events.coalescedCount()),
+                new Metric<>(PREFIX + "rejected", events.rejectedCount()),
+                new Metric<>(PREFIX + "applied", events.appliedCount()),
+                new Metric<>(PREFIX + "pending", events.pendingCount()),
+                new Metric<>(PREFIX + "signature.rejected", signature.rejectedCount()));
+    }
+}
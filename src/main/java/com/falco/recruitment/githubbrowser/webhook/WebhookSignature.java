@@ -0,0 +1,83 @@
+package com.falco.recruitment.githubbrowser.webhook;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies HMAC signature Github computes over webhook payload with secret shared on hook setup,
+ * {@code X-Hub-Signature-256} (HMAC SHA-256) is preferred over legacy {@code X-Hub-Signature} (HMAC SHA-1).
+ * Every delivery is rejected while no secret is configured.
+ */
+@Slf4j
+@Component
+public class WebhookSignature {
+    public static final String WEBHOOK_SECRET = "${githubbrowser.webhook.secret:}";
+    private static final String SHA256 = "sha256=";
+    private static final String SHA1 = "sha1=";
+    private final LongAdder rejected = new LongAdder();
+    private final byte[] secret;
+
+    public WebhookSignature(@Value(WEBHOOK_SECRET) String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        if (secret.isEmpty()) {
+            LOG.warn("No Github webhook secret configured, webhook deliveries will be rejected");
+        }
+    }
+
+    /**
+     * @param signature256 {@code X-Hub-Signature-256} header or null
+     * @param signature1   {@code X-Hub-Signature} header or null
+     */
+    public boolean verify(byte[] payload, String signature256, String signature1) {
+        boolean verified = secret.length > 0 && (signature256 != null
+                ? matches(payload, signature256, SHA256, "HmacSHA256")
+                : signature1 != null && matches(payload, signature1, SHA1, "HmacSHA1"));
+        if (!verified) {
+            rejected.increment();
+        }
+        return verified;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private boolean matches(byte[] payload, String signature, String prefix, String algorithm) {
+        if (!signature.startsWith(prefix)) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret, algorithm));
+            byte[] expected = mac.doFinal(payload);
+            //constant time comparison, so signature can not be guessed byte by byte from response times
+            return MessageDigest.isEqual(expected, hex(signature.substring(prefix.length())));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+
+    private static byte[] hex(String hex) {
+        if (hex.length() % 2 != 0) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return new byte[0];
+            }
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return bytes;
+    }
+}
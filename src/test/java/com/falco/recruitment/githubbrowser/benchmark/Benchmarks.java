@@ -0,0 +1,34 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fixtures shared by benchmarks. Run with {@code mvn -Pbenchmark test-compile exec:exec},
+ * results including gc profiler allocation rates (gc.alloc.rate.norm is bytes/op) go to target/jmh-result.json.
+ */
+final class Benchmarks {
+    private Benchmarks() {
+    }
+
+    /**
+     * Object mapper configured as by application.properties, modules on classpath are registered by the builder.
+     */
+    static ObjectMapper applicationObjectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, MapperFeature.INFER_PROPERTY_MUTATORS)
+                .build();
+    }
+
+    static byte[] githubRepositoryPayload() throws IOException {
+        try (InputStream json = Benchmarks.class.getResourceAsStream("/github/repository.json")) {
+            return StreamUtils.copyToByteArray(json);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ETagBenchmark {
+    private String header = "\"9a8b7c6d5e4f3a2b1c0d9e8f7a6b5c4d\"";
+    private ETag eTag = ETag.from(header);
+    private ETag sameETag = ETag.from(header);
+    private ETag otherETag = ETag.from("\"0a8b7c6d5e4f3a2b1c0d9e8f7a6b5c4d\"");
+
+    @Benchmark
+    public ETag from() {
+        return ETag.from(header);
+    }
+
+    @Benchmark
+    public boolean equalsMatching() {
+        return eTag.equals(sameETag);
+    }
+
+    @Benchmark
+    public boolean equalsDifferent() {
+        return eTag.equals(otherETag);
+    }
+
+    @Benchmark
+    public String toHeader() {
+        return eTag.toString();
+    }
+}
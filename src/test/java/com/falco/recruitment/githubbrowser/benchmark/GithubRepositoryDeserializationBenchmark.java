@@ -0,0 +1,41 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading full size (fork, ~16kB) Github payload with data binding and with streaming parser used by application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GithubRepositoryDeserializationBenchmark {
+    private byte[] payload;
+    private ObjectReader reader;
+    private GithubRepositoryParser parser;
+
+    @Setup
+    public void setUp() throws Exception {
+        payload = Benchmarks.githubRepositoryPayload();
+        reader = Benchmarks.applicationObjectMapper().readerFor(GithubRepository.class);
+        parser = new GithubRepositoryParser();
+    }
+
+    @Benchmark
+    public GithubRepository databind() throws Exception {
+        return reader.readValue(new ByteArrayInputStream(payload));
+    }
+
+    @Benchmark
+    public GithubRepository streaming() throws Exception {
+        return parser.parse(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,92 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import com.falco.recruitment.githubbrowser.Factory;
+import com.falco.recruitment.githubbrowser.integration.BlockingGithubTransport;
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.GithubTokenPool;
+import com.falco.recruitment.githubbrowser.integration.GithubTransport;
+import com.falco.recruitment.githubbrowser.integration.NioGithubTransport;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
+import com.falco.recruitment.githubbrowser.integration.UpstreamCompression;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.metrics.UpstreamMetrics;
+import com.falco.recruitment.githubbrowser.performance.GithubStandIn;
+import com.falco.recruitment.githubbrowser.performance.Latency;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+
+/**
+ * Batch of concurrent lookups against in-process Github stand-in (fixed 20 ms latency, full payloads, responses not cacheable),
+ * through both transports built by {@link Factory} as in application.
+ * Blocking transport is called from a pool of threads, as Hystrix does, non-blocking transport from benchmark thread.
+ * Compare time per batch (and gc.alloc.rate.norm) for growing number of requests in flight.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GithubTransportBenchmark {
+    private static final int CALLER_THREADS = 200;
+    private static final String GITHUB_REPOSITORIES = "/repos/{owner}/{repository}";
+    @Param({"blocking", "nio"})
+    private String transport;
+    @Param({"100", "1000"})
+    private int inFlight;
+    @Param({"200"})
+    private int asyncMaxConnections;
+    private GithubStandIn githubStandIn;
+    private GithubTransport githubTransport;
+    private ExecutorService callers;
+
+    @Setup
+    public void setUp() throws IOException {
+        githubStandIn = GithubStandIn.defaults().port(0).latency(Latency.fixed(20)).threads(2000).noStore(true).build().start();
+        githubStandIn.givenRepository("wokol", "spring-boot");
+        Factory factory = new Factory();
+        ReflectionTestUtils.setField(factory, "asyncIoThreads", 2);
+        ReflectionTestUtils.setField(factory, "asyncMaxConnections", asyncMaxConnections);
+        StageTimers stageTimers = new StageTimers();
+        UpstreamMetrics upstreamMetrics = new UpstreamMetrics(stageTimers);
+        GithubTokenPool tokenPool = new GithubTokenPool(Collections.emptyList(),
+                () -> new RateLimitBudget(Integer.MAX_VALUE, 0.0, Integer.MAX_VALUE, Duration.ZERO, Clock.systemUTC()));
+        String url = "http://localhost:" + githubStandIn.port() + GITHUB_REPOSITORIES;
+        githubTransport = "nio".equals(transport)
+                ? new NioGithubTransport(url, factory.asyncRestTemplate(stageTimers, upstreamMetrics, new UpstreamCompression(), tokenPool), tokenPool)
+                : new BlockingGithubTransport(url, factory.restTemplate(stageTimers, upstreamMetrics, new UpstreamCompression(), tokenPool));
+        callers = Executors.newFixedThreadPool(CALLER_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        callers.shutdownNow();
+        githubStandIn.stop();
+    }
+
+    @Benchmark
+    public Object lookups() {
+        CompletableFuture<?>[] lookups = IntStream.range(0, inFlight)
+                .mapToObj(i -> "nio".equals(transport) ? lookup() : CompletableFuture.supplyAsync(() -> lookup().join(), callers))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(lookups).join();
+    }
+
+    private CompletableFuture<ResponseEntity<GithubRepository>> lookup() {
+        return githubTransport.getRepository(ownerRepository("wokol", "spring-boot"), ETag.NO_ETAG);
+    }
+}
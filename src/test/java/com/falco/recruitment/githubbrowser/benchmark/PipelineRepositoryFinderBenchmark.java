@@ -0,0 +1,52 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryFinderStage;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.pipeline.PipelineRepositoryFinder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+
+/**
+ * Overhead of pipeline built from bean names, compared with calling the same stages directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineRepositoryFinderBenchmark {
+    private final OwnerRepository ownerRepository = ownerRepository("wokol", "spring-boot");
+    private RepositoryFinder direct;
+    private RepositoryFinder pipeline;
+
+    @Setup
+    public void setUp() {
+        RepositoryFinderStage stage = (ownerRepository, eTag, next) -> next.tryFind(ownerRepository, eTag);
+        RepositoryFinder finder = (ownerRepository, eTag) -> Optional.of(RepositoriesControllerBenchmark.REPOSITORY);
+        direct = (ownerRepository, eTag) -> stage.tryFind(ownerRepository, eTag, finder);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("stage", stage);
+        beanFactory.registerSingleton("finder", finder);
+        pipeline = new PipelineRepositoryFinder(beanFactory, new StageTimers(), "stage,finder");
+    }
+
+    @Benchmark
+    public Optional<Repository> pipeline() {
+        return pipeline.tryFind(ownerRepository, ETag.NO_ETAG);
+    }
+
+    @Benchmark
+    public Optional<Repository> direct() {
+        return direct.tryFind(ownerRepository, ETag.NO_ETAG);
+    }
+}
@@ -0,0 +1,66 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import com.falco.recruitment.githubbrowser.RepositoriesController;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryBodies;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller lookup over finder answering immediately, measures response building only.
+ * Bodies are serialized and gzipped once, so found responses measure copying of cached bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoriesControllerBenchmark {
+    static final Repository REPOSITORY = Repository.builder()
+            .owner("wokol").name("spring-boot").fullName("wokol/spring-boot")
+            .description("Spring Boot").cloneUrl("https://github.com/wokol/spring-boot.git").stars(12)
+            .createdAt(LocalDateTime.of(2016, 7, 17, 7, 24, 27))
+            .eTag(ETag.from("\"9a8b7c6d5e4f\""))
+            .build();
+    private final HttpHeaders noETag = new HttpHeaders();
+    private final HttpHeaders matchingETag = new HttpHeaders();
+    private final HttpHeaders acceptGzip = new HttpHeaders();
+    private RepositoriesController controller;
+
+    @Setup
+    public void setUp() {
+        matchingETag.setETag(REPOSITORY.getETag().toString());
+        acceptGzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        controller = new RepositoriesController(
+                (ownerRepository, eTag) -> "spring-boot".equals(ownerRepository.getRepository()) ? Optional.of(REPOSITORY) : Optional.empty(),
+                new StageTimers(), new RepositoryBodies(Benchmarks.applicationObjectMapper(), 16), 60);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> found() {
+        return controller.repositories(noETag, "wokol", "spring-boot");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> foundGzipped() {
+        return controller.repositories(acceptGzip, "wokol", "spring-boot");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> notModified() {
+        return controller.repositories(matchingETag, "wokol", "spring-boot");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> notFound() {
+        return controller.repositories(noETag, "wokol", "missing");
+    }
+}
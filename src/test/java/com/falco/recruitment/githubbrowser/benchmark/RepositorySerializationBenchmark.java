@@ -0,0 +1,32 @@
+package com.falco.recruitment.githubbrowser.benchmark;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body serialization as done by MappingJackson2HttpMessageConverter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositorySerializationBenchmark {
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Benchmarks.applicationObjectMapper();
+        writer = objectMapper.writerFor(Repository.class);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(RepositoriesControllerBenchmark.REPOSITORY);
+    }
+}
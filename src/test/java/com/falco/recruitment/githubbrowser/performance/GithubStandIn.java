@@ -0,0 +1,370 @@
+package com.falco.recruitment.githubbrowser.performance;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stand-in for Github repositories api ({@code GET /repos/{owner}/{repository}}) for performance tests.
+ * <ul>
+ * <li>responds after latency drawn from configured distribution</li>
+ * <li>serves full size payloads (fork with parent and source, ~16kB) built from github/repository.json,
+ * gzipped when request accepts it</li>
+ * <li>answers {@code If-None-Match} with 304, which like on Github does not count against rate limit</li>
+ * <li>sends {@code X-RateLimit-*} headers and 403 once hourly limit is spent, each {@code Authorization} token
+ * (and anonymous access) has its own limit</li>
+ * <li>injects 5xx and rate limit 403 responses with configured probabilities</li>
+ * </ul>
+ * Thread safe, keeps only counters of served requests. Runs in-process ({@link #start()}) or as separate process
+ * ({@link #main(String[])}).
+ */
+@Slf4j
+public class GithubStandIn {
+    public static final int DEFAULT_PORT = 8090;
+    private static final String REPOS_PATH = "/repos/";
+    private static final String NOT_FOUND_BODY = "{\"message\":\"Not Found\",\"documentation_url\":\"https://developer.github.com/v3\"}";
+    private static final String RATE_LIMITED_BODY = "{\"message\":\"API rate limit exceeded\",\"documentation_url\":\"https://developer.github.com/v3/#rate-limiting\"}";
+    private static final String SERVER_ERROR_BODY = "{\"message\":\"Server Error\"}";
+    private static final DateTimeFormatter CREATED_AT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private final int port;
+    private final Latency latency;
+    private final double serverErrorRate;
+    private final double rateLimitErrorRate;
+    private final int rateLimitPerHour;
+    private final int threads;
+    private final boolean noStore;
+    private final Map<String, Payload> repositories = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final Map<String, RateLimit> rateLimits = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @Builder
+    private GithubStandIn(int port, Latency latency, double serverErrorRate, double rateLimitErrorRate,
+                          int rateLimitPerHour, int threads, boolean noStore) {
+        this.port = port;
+        this.latency = latency;
+        this.serverErrorRate = serverErrorRate;
+        this.rateLimitErrorRate = rateLimitErrorRate;
+        this.rateLimitPerHour = rateLimitPerHour;
+        this.threads = threads;
+        this.noStore = noStore;
+    }
+
+    public static GithubStandIn.GithubStandInBuilder defaults() {
+        return builder()
+                .port(DEFAULT_PORT)
+                .latency(Latency.fixed(0))
+                .rateLimitPerHour(Integer.MAX_VALUE)
+                .threads(200);
+    }
+
+    /**
+     * Usage: {@code GithubStandIn [--port=8090] [--repositories=owner/name,...|--generate=1000] [--latency=lognormal:40:0.5]
+     * [--server-error-rate=0.01] [--rate-limit-error-rate=0.001] [--rate-limit=5000] [--threads=200]}.
+     * Generated repositories are named {@code wokol<n>/spring-boot<n>}.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = Arrays.stream(args)
+                .map(arg -> arg.replaceFirst("^--", "").split("=", 2))
+                .collect(Collectors.toMap(option -> option[0], option -> option.length > 1 ? option[1] : ""));
+        GithubStandIn standIn = defaults()
+                .port(Integer.parseInt(options.getOrDefault("port", String.valueOf(DEFAULT_PORT))))
+                .latency(Latency.parse(options.getOrDefault("latency", "fixed:0")))
+                .serverErrorRate(Double.parseDouble(options.getOrDefault("server-error-rate", "0")))
+                .rateLimitErrorRate(Double.parseDouble(options.getOrDefault("rate-limit-error-rate", "0")))
+                .rateLimitPerHour(Integer.parseInt(options.getOrDefault("rate-limit", String.valueOf(Integer.MAX_VALUE))))
+                .threads(Integer.parseInt(options.getOrDefault("threads", "200")))
+                .build()
+                .start();
+        if (options.containsKey("repositories")) {
+            Arrays.stream(options.get("repositories").split(","))
+                    .map(ownerRepository -> ownerRepository.split("/"))
+                    .forEach(ownerRepository -> standIn.givenRepository(ownerRepository[0], ownerRepository[1]));
+        }
+        int generate = Integer.parseInt(options.getOrDefault("generate", "0"));
+        IntStream.range(0, generate).forEach(i -> standIn.givenRepository("wokol" + i, "spring-boot" + i));
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::stop));
+        LOG.info("Github stand-in listening on port {} with {} repositories", standIn.port(), standIn.repositories.size());
+    }
+
+    public GithubStandIn start() throws IOException {
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext(REPOS_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public void givenRepository(String owner, String name) {
+        givenRepositories(Collections.singletonList(GithubRepository.builder()
+                .owner(GithubRepository.login(owner))
+                .name(name)
+                .fullName(owner + "/" + name)
+                .description(owner + " repository for " + name)
+                .cloneUrl("https://github.com/" + owner + "/" + name + ".git")
+                .build()));
+    }
+
+    public void givenRepositories(List<GithubRepository> githubRepositories) {
+        githubRepositories.forEach(repository -> repositories.put(
+                key(repository.getOwner().getLogin(), repository.getName()), Payload.of(repository)));
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return count of responses sent with given status
+     */
+    public long statusCount(int status) {
+        return Optional.ofNullable(statuses.get(status)).map(LongAdder::sum).orElse(0L);
+    }
+
+    /**
+     * @param token Authorization token, null for anonymous requests
+     * @return requests left in current window of given token
+     */
+    public long rateLimitRemaining(String token) {
+        return rateLimitOf(token == null ? "" : token).remaining(rateLimitPerHour);
+    }
+
+    public void reset() {
+        repositories.clear();
+        statuses.clear();
+        requests.reset();
+        rateLimits.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            sleep(latency.sampleMillis());
+            String[] path = exchange.getRequestURI().getPath().substring(REPOS_PATH.length()).split("/");
+            Payload payload = path.length == 2 ? repositories.get(key(path[0], path[1])) : null;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String token = token(exchange);
+            RateLimit rateLimit = rateLimitOf(token);
+            if (random.nextDouble() < serverErrorRate) {
+                respond(exchange, random.nextBoolean() ? 502 : 503, SERVER_ERROR_BODY.getBytes(StandardCharsets.UTF_8));
+            } else if (random.nextDouble() < rateLimitErrorRate) {
+                rateLimitHeaders(exchange, rateLimit, 0);
+                respond(exchange, 403, RATE_LIMITED_BODY.getBytes(StandardCharsets.UTF_8));
+            } else if (payload != null && payload.matches(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                rateLimitHeaders(exchange, rateLimit, rateLimit.remaining(rateLimitPerHour));
+                cacheHeaders(exchange, payload, token);
+                respond(exchange, 304, null);
+            } else {
+                long remaining = rateLimit.acquire(rateLimitPerHour);
+                rateLimitHeaders(exchange, rateLimit, Math.max(0, remaining));
+                if (remaining < 0) {
+                    respond(exchange, 403, RATE_LIMITED_BODY.getBytes(StandardCharsets.UTF_8));
+                } else if (payload == null) {
+                    respond(exchange, 404, NOT_FOUND_BODY.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    cacheHeaders(exchange, payload, token);
+                    if (acceptsGzip(exchange)) {
+                        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                        respond(exchange, 200, payload.getGzippedBody());
+                    } else {
+                        respond(exchange, 200, payload.getBody());
+                    }
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private RateLimit rateLimitOf(String token) {
+        return rateLimits.computeIfAbsent(token, t -> new RateLimit());
+    }
+
+    private static String token(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        return authorization == null ? "" : authorization.replaceFirst("^(?i)(token|bearer) ", "");
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private void rateLimitHeaders(HttpExchange exchange, RateLimit rateLimit, long remaining) {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("X-RateLimit-Limit", String.valueOf(rateLimitPerHour));
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(rateLimit.resetEpochSecond()));
+    }
+
+    /**
+     * Like Github, responses to authenticated requests are private and may not be kept by shared caches.
+     * With no-store every request reaches stand-in, eg. to compare http clients without their cache.
+     */
+    private void cacheHeaders(HttpExchange exchange, Payload payload, String token) {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", payload.getETag());
+        headers.set("Cache-Control", noStore ? "no-store" : (token.isEmpty() ? "public" : "private") + ", max-age=60, s-maxage=60");
+        headers.set("Vary", "Accept, Accept-Encoding, Authorization");
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String key(String owner, String name) {
+        return (owner + "/" + name).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Github rate limit window, starts with first counted request and lasts an hour.
+     */
+    private static class RateLimit {
+        private final AtomicLong used = new AtomicLong();
+        private volatile long resetEpochSecond;
+
+        private synchronized long acquire(int limit) {
+            long now = System.currentTimeMillis() / 1000;
+            if (now >= resetEpochSecond) {
+                resetEpochSecond = now + Duration.ofHours(1).getSeconds();
+                used.set(0);
+            }
+            return limit - used.incrementAndGet();
+        }
+
+        private long remaining(int limit) {
+            return Math.max(0, limit - used.get());
+        }
+
+        private long resetEpochSecond() {
+            return resetEpochSecond;
+        }
+    }
+
+    @Value
+    private static class Payload {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+        private static final ObjectNode TEMPLATE = template();
+        private final byte[] body;
+        private final byte[] gzippedBody;
+        private final String eTag;
+
+        private static Payload of(GithubRepository repository) {
+            ObjectNode json = TEMPLATE.deepCopy();
+            String owner = repository.getOwner().getLogin();
+            json.put("name", repository.getName());
+            json.put("full_name", repository.getFullName());
+            json.put("description", repository.getDescription());
+            json.put("clone_url", repository.getCloneUrl());
+            json.put("html_url", "https://github.com/" + owner + "/" + repository.getName());
+            json.put("url", "https://api.github.com/repos/" + owner + "/" + repository.getName());
+            json.put("stargazers_count", repository.getStars());
+            json.put("watchers_count", repository.getStars());
+            if (repository.getCreatedAt() != null) {
+                json.put("created_at", CREATED_AT.format(repository.getCreatedAt()) + "Z");
+            }
+            ((ObjectNode) json.get("owner")).put("login", owner);
+            try {
+                byte[] body = OBJECT_MAPPER.writeValueAsBytes(json);
+                return new Payload(body, gzip(body), "\"" + DatatypeConverter.printHexBinary(md5(body)).toLowerCase(Locale.ROOT) + "\"");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static byte[] gzip(byte[] body) throws IOException {
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+                out.write(body);
+            }
+            return gzipped.toByteArray();
+        }
+
+        /**
+         * @param ifNoneMatch comma separated, possibly weak, ETags
+         */
+        private boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            return Arrays.stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                    .anyMatch(tag -> tag.equals(eTag) || tag.equals("*"));
+        }
+
+        private static byte[] md5(byte[] body) {
+            try {
+                return MessageDigest.getInstance("MD5").digest(body);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static ObjectNode template() {
+            try (InputStream json = GithubStandIn.class.getResourceAsStream("/github/repository.json")) {
+                return (ObjectNode) OBJECT_MAPPER.readTree(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
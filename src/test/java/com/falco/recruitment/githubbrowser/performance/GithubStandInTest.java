@@ -0,0 +1,106 @@
+package com.falco.recruitment.githubbrowser.performance;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryParser;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GithubStandInTest {
+    private static final int RATE_LIMIT = 2;
+    private GithubStandIn githubStandIn;
+    private CloseableHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        githubStandIn = GithubStandIn.defaults().port(0).rateLimitPerHour(RATE_LIMIT).build().start();
+        githubStandIn.givenRepository("wokol", "spring-boot");
+        client = HttpClients.createDefault();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.close();
+        githubStandIn.stop();
+    }
+
+    @Test
+    public void shouldServeFullPayloadWithETag() throws IOException {
+        try (CloseableHttpResponse response = client.execute(get("/repos/wokol/spring-boot", null))) {
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            GithubRepository repository = new GithubRepositoryParser().parse(new ByteArrayInputStream(body));
+
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+            assertThat(response.getFirstHeader("ETag")).isNotNull();
+            assertThat(response.getFirstHeader("X-RateLimit-Remaining").getValue()).isEqualTo("1");
+            assertThat(body.length).isGreaterThan(10_000);
+            assertThat(repository.getFullName()).isEqualTo("wokol/spring-boot");
+            assertThat(repository.getOwner().getLogin()).isEqualTo("wokol");
+        }
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWithoutSpendingRateLimit() throws IOException {
+        String eTag;
+        try (CloseableHttpResponse response = client.execute(get("/repos/wokol/spring-boot", null))) {
+            eTag = response.getFirstHeader("ETag").getValue();
+        }
+
+        for (int i = 0; i < RATE_LIMIT; i++) {
+            try (CloseableHttpResponse response = client.execute(get("/repos/wokol/spring-boot", "W/" + eTag))) {
+                assertThat(response.getStatusLine().getStatusCode()).isEqualTo(304);
+            }
+        }
+        try (CloseableHttpResponse response = client.execute(get("/repos/wokol/spring-boot", null))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    public void shouldRejectRequestsOverRateLimit() throws IOException {
+        for (int i = 0; i < RATE_LIMIT; i++) {
+            client.execute(get("/repos/wokol/missing", null)).close();
+        }
+
+        try (CloseableHttpResponse response = client.execute(get("/repos/wokol/spring-boot", null))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(403);
+            assertThat(response.getFirstHeader("X-RateLimit-Remaining").getValue()).isEqualTo("0");
+        }
+        assertThat(githubStandIn.statusCount(404)).isEqualTo(RATE_LIMIT);
+        assertThat(githubStandIn.statusCount(403)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldLimitEveryTokenSeparately() throws IOException {
+        for (int i = 0; i < RATE_LIMIT; i++) {
+            client.execute(get("/repos/wokol/spring-boot", null)).close();
+        }
+        HttpGet authenticated = get("/repos/wokol/spring-boot", null);
+        authenticated.setHeader("Authorization", "token secret");
+
+        try (CloseableHttpResponse response = client.execute(authenticated)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+            assertThat(response.getFirstHeader("Cache-Control").getValue()).startsWith("private");
+        }
+        assertThat(githubStandIn.rateLimitRemaining(null)).isEqualTo(0);
+        assertThat(githubStandIn.rateLimitRemaining("secret")).isEqualTo(RATE_LIMIT - 1);
+    }
+
+    private HttpGet get(String path, String ifNoneMatch) {
+        HttpGet get = new HttpGet("http://localhost:" + githubStandIn.port() + path);
+        if (ifNoneMatch != null) {
+            get.setHeader("If-None-Match", ifNoneMatch);
+        }
+        return get;
+    }
+}
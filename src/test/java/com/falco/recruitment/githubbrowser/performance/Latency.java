@@ -0,0 +1,45 @@
+package com.falco.recruitment.githubbrowser.performance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of {@link GithubStandIn} response latency.
+ */
+@FunctionalInterface
+public interface Latency {
+    long sampleMillis();
+
+    static Latency fixed(long millis) {
+        return () -> millis;
+    }
+
+    static Latency uniform(long minMillis, long maxMillis) {
+        return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+    }
+
+    /**
+     * Long tailed, as observed for Github api: most responses close to median, some several times slower.
+     *
+     * @param sigma standard deviation of latency logarithm, 0.5 puts p99 at about 3 times median
+     */
+    static Latency logNormal(long medianMillis, double sigma) {
+        return () -> Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * @param spec {@code fixed:<millis>}, {@code uniform:<min millis>:<max millis>} or {@code lognormal:<median millis>:<sigma>}
+     */
+    static Latency parse(String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(Long.parseLong(parts[1]));
+            case "uniform":
+                return uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            case "lognormal":
+                return logNormal(Long.parseLong(parts[1]), Double.parseDouble(parts[2]));
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution '" + spec + "'");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.falco.recruitment.githubbrowser.performance;
+
+import lombok.Builder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Open model load generator: requests are due at fixed arrival rate regardless of how fast previous ones complete.
+ * Up to {@code connections} requests are in flight, each over its own kept-alive connection.
+ * <p>
+ * Latency is measured from the time request was due, not from the time it could be sent, so time spent
+ * waiting for a free connection when application falls behind is included (coordinated omission correction).
+ * Service time, measured from actual send, is recorded separately.
+ */
+@Builder
+public class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private final int requestsPerSecond;
+    private final Duration duration;
+    private final int connections;
+
+    /**
+     * @param requests         url of n-th request
+     * @param upstreamRequests counter of requests which reached Github, used for cache hit ratio
+     */
+    public LoadReport run(String scenario, LongFunction<URI> requests, LongSupplier upstreamRequests) throws InterruptedException {
+        Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder errors = new LongAdder();
+        AtomicLong next = new AtomicLong();
+        long total = requestsPerSecond * duration.getSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long upstreamBefore = upstreamRequests.getAsLong();
+        ExecutorService workers = Executors.newFixedThreadPool(connections);
+        try (CloseableHttpClient client = HttpClients.custom()
+                .setMaxConnTotal(connections)
+                .setMaxConnPerRoute(connections)
+                .build()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                workers.execute(() -> {
+                    long n;
+                    while ((n = next.getAndIncrement()) < total) {
+                        long due = start + n * intervalNanos;
+                        sleepUntil(due);
+                        long sent = System.nanoTime();
+                        boolean ok = send(client, requests.apply(n));
+                        long completed = System.nanoTime();
+                        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - due));
+                        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+                        if (!ok) {
+                            errors.increment();
+                        }
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(duration.getSeconds() + 60, TimeUnit.SECONDS);
+            long elapsedNanos = System.nanoTime() - start;
+            long upstream = upstreamRequests.getAsLong() - upstreamBefore;
+            return new LoadReport(scenario, requestsPerSecond, latency.getTotalCount(), errors.sum(),
+                    latency.getTotalCount() * 1e9 / elapsedNanos,
+                    1 - (double) upstream / Math.max(1, latency.getTotalCount()),
+                    latency, serviceTime);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static boolean send(CloseableHttpClient client, URI uri) {
+        try (CloseableHttpResponse response = client.execute(new HttpGet(uri))) {
+            EntityUtils.consume(response.getEntity());
+            int status = response.getStatusLine().getStatusCode();
+            return status < HttpStatus.SC_BAD_REQUEST;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
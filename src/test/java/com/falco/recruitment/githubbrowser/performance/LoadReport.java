@@ -0,0 +1,51 @@
+package com.falco.recruitment.githubbrowser.performance;
+
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Outcome of single {@link LoadGenerator} scenario, latencies are in microseconds.
+ */
+@Value
+public class LoadReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private final String scenario;
+    private final int requestsPerSecond;
+    private final long requests;
+    private final long errors;
+    private final double throughput;
+    private final double cacheHitRatio;
+    private final Histogram latency;
+    private final Histogram serviceTime;
+
+    public static String header() {
+        return String.format("%-24s %8s %8s %7s %10s %9s %9s %9s %9s %9s %9s",
+                "scenario", "rate", "requests", "errors", "throughput", "hit ratio", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s %8d %8d %7d %10.1f %9.3f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                scenario, requestsPerSecond, requests, errors, throughput, cacheHitRatio,
+                latencyAt(50), latencyAt(90), latencyAt(99), latencyAt(99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    public double latencyAt(double percentile) {
+        return latency.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Writes latency distribution in HdrHistogram percentile format, can be plotted eg. with HistogramLogAnalyzer.
+     */
+    public void writeDistribution(File directory) throws FileNotFoundException {
+        directory.mkdirs();
+        try (PrintStream out = new PrintStream(new File(directory, scenario.replaceAll("\\W+", "-") + ".hgrm"))) {
+            latency.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
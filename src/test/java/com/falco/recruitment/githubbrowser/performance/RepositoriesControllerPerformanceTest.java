@@ -2,8 +2,9 @@ package com.falco.recruitment.githubbrowser.performance;
 
 import com.falco.recruitment.githubbrowser.Repository;
 import com.falco.recruitment.githubbrowser.integration.GithubRepository;
-import com.google.common.base.Stopwatch;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,129 +14,137 @@ import org.springframework.http.*;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriTemplate;
 
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Random;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import static com.falco.recruitment.githubbrowser.integration.GithubRepository.builder;
 import static com.falco.recruitment.githubbrowser.integration.GithubRepository.login;
-import static org.apache.commons.lang3.ObjectUtils.median;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * This is very naive test checking how many requests application can serve with mocked (over http )github api (GithubMock).
- * May be useful for initial http client connection factory parameters configuration.
- * It would make sense to extract it into separate maven project using specialized library (eg. https://gatling.io/).
+ * Drives application at fixed arrival rate with Github api stand-in answering with realistic latency and payloads,
+ * a share of requests (cache factor) is for repositories requested before, the rest for never seen ones.
+ * Reports latency distribution with coordinated omission correction, throughput, errors and cache hit ratio
+ * per scenario, distributions are written to target/load.
  */
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
 @TestPropertySource(locations = {
         "classpath:github.mock.properties",
         "classpath:no.logging.properties",
-})
+}, properties = "management.port=-1")
 public class RepositoriesControllerPerformanceTest {
-    @Autowired
-    private GithubReposMock githubMock;
+    private static final int REQUESTS_PER_SECOND = 150;
+    private static final Duration DURATION = Duration.ofSeconds(5);
+    private static final int CONNECTIONS = 32;
+    private static final int HOT_REPOSITORIES = 100;
+    private static final File DISTRIBUTIONS = new File("target/load");
+    private static final List<LoadReport> reports = new ArrayList<>();
+    private static GithubStandIn githubStandIn;
+    private static int lastIndex;
+    private final LoadGenerator loadGenerator = LoadGenerator.builder()
+            .requestsPerSecond(REQUESTS_PER_SECOND)
+            .duration(DURATION)
+            .connections(CONNECTIONS)
+            .build();
     @Value("http://localhost:${local.server.port}${githubbrowser.repositories.url}")
     private String repositoriesUrl;
     @Autowired
     private RestTemplate restTemplate;
-    private List<GithubRepository> repositories = Collections.emptyList();
-    private static final int totalRepositoryCount = 300;
-    private static final int REPOSITORIES_COUNT = totalRepositoryCount;
-    private static int lastIndex;
-
-    @Before
-    public void warmUp() {
-        addNRepositories(10);
-        runNRequests(500);
-    }
 
-    @Test
-    public void shouldServe100ReqPerSecondWithoutCaching() {
-        assertThat(calculateTPSForCacheFactor(0.0001f)).isGreaterThan(100);
-    }
-
-    @Test
-    public void shouldServe100ReqPerSecond10PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.1f)).isGreaterThan(100);
+    @BeforeClass
+    public static void startGithubStandIn() throws Exception {
+        reports.clear();
+        githubStandIn = GithubStandIn.defaults()
+                .latency(Latency.logNormal(30, 0.5))
+                .build()
+                .start();
     }
 
-    @Test
-    public void shouldServe100ReqPerSecond30PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.3f)).isGreaterThan(100);
+    @AfterClass
+    public static void printReports() {
+        githubStandIn.stop();
+        System.out.println(LoadReport.header());
+        reports.forEach(System.out::println);
     }
 
-    @Test
-    public void shouldServe100ReqPerSecond50PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.5f)).isGreaterThan(100);
+    @Before
+    public void warmUp() throws Exception {
+        LoadGenerator.builder().requestsPerSecond(REQUESTS_PER_SECOND).duration(Duration.ofSeconds(1)).connections(CONNECTIONS).build()
+                .run("warm-up", scenario(0.5f), githubStandIn::requestCount);
     }
 
     @Test
-    public void shouldServe100ReqPerSecond70PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.7f)).isGreaterThan(100);
+    public void shouldServe100ReqPerSecondWithoutCaching() throws Exception {
+        assertServed(run("no cache", 0f));
     }
 
     @Test
-    public void shouldServe100ReqPerSecond80PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.8f)).isGreaterThan(100);
+    public void shouldServe100ReqPerSecond50PercentCached() throws Exception {
+        assertServed(run("50% cached", 0.5f));
     }
 
     @Test
-    public void shouldServe100ReqPerSecond90PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.9f)).isGreaterThan(100);
+    public void shouldServe100ReqPerSecond90PercentCached() throws Exception {
+        assertServed(run("90% cached", 0.9f));
     }
 
     @Test
-    public void shouldServe100ReqPerSecond95PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.95f)).isGreaterThan(100);
+    public void shouldServe100ReqPerSecond100PercentCached() throws Exception {
+        assertServed(run("100% cached", 1f));
     }
 
-    @Test
-    public void shouldServe100ReqPerSecond99PercentCached() {
-        assertThat(calculateTPSForCacheFactor(0.99f)).isGreaterThan(100);
+    private LoadReport run(String scenario, float cacheFactor) throws Exception {
+        LoadReport report = loadGenerator.run(scenario, scenario(cacheFactor), githubStandIn::requestCount);
+        report.writeDistribution(DISTRIBUTIONS);
+        reports.add(report);
+        System.out.println(LoadReport.header());
+        System.out.println(report);
+        return report;
     }
 
-
-    @Test
-    public void shouldServe100ReqPerSecond100PercentCached() {
-        assertThat(calculateTPSForCacheFactor(1f)).isGreaterThan(100);
+    private void assertServed(LoadReport report) {
+        assertThat(report.getErrors()).isZero();
+        assertThat(report.getThroughput()).isGreaterThan(100);
     }
 
-    private int calculateTPSForCacheFactor(float cacheFactor) {
-        Stream<Float> tpsStream = IntStream.range(0, 3).mapToObj(i -> tpsForCacheFactor(cacheFactor));
-        Float median = median(tpsStream.toArray(i -> new Float[3]));
-        System.out.printf("_____________________________median %.2f tps%n", median);
-        return Math.round(median);
-    }
+    /**
+     * Hot repositories are requested once up front, cold ones are unique per request.
+     */
+    private LongFunction<URI> scenario(float cacheFactor) {
+        int requests = (int) (REQUESTS_PER_SECOND * DURATION.getSeconds());
+        List<GithubRepository> hot = nextRepositories(HOT_REPOSITORIES);
+        List<GithubRepository> cold = nextRepositories(requests);
+        List<GithubRepository> all = new ArrayList<>(hot);
+        all.addAll(cold);
+        githubStandIn.givenRepositories(all);
+        hot.forEach(repository -> assertThat(getRepository(repository).getStatusCode()).isEqualTo(HttpStatus.OK));
 
-    private float tpsForCacheFactor(float cacheFactor) {
-        addNRepositories(REPOSITORIES_COUNT);
-        //fill cache with repositories for given factor
-        runNRequests(cacheFactor * REPOSITORIES_COUNT);
-
-        Stopwatch stopwatch = Stopwatch.createStarted();
-        runNRequests(REPOSITORIES_COUNT);
-        float executionTimeInMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-        float tps = REPOSITORIES_COUNT / executionTimeInMillis * 1000f;
-        int cachePercentage = Math.round(cacheFactor * 100f);
-        System.out.printf("Cache hit ratio of %3d%% performs at %4.2f tps (repositories range [%d;%d))%n",
-                cachePercentage, tps, lastIndex - REPOSITORIES_COUNT, lastIndex);
-        return tps;
+        UriTemplate uriTemplate = new UriTemplate(repositoriesUrl);
+        Random random = new Random(requests);
+        List<URI> uris = IntStream.range(0, requests)
+                .mapToObj(i -> random.nextFloat() < cacheFactor ? hot.get(random.nextInt(hot.size())) : cold.get(i))
+                .map(repository -> uriTemplate.expand(repository.getOwner().getLogin(), repository.getName()))
+                .collect(Collectors.toList());
+        return n -> uris.get((int) (n % uris.size()));
     }
 
-    private void runNRequests(float requests) {
-        IntStream.range(0, (int) requests - 1).forEach(i -> assertThat(getRepository(repositories.get(i % repositories.size())).getStatusCode()).isEqualTo(HttpStatus.OK));
-    }
-
-    private void addNRepositories(int totalRepositoryCount) {
-        addRepositoriesFromTo(lastIndex, lastIndex + totalRepositoryCount);
-        lastIndex += totalRepositoryCount;
+    private List<GithubRepository> nextRepositories(int count) {
+        List<GithubRepository> repositories = IntStream.range(lastIndex, lastIndex + count)
+                .mapToObj(RepositoriesControllerPerformanceTest::repoNo)
+                .collect(Collectors.toList());
+        lastIndex += count;
+        return repositories;
     }
 
     private static GithubRepository repoNo(int no) {
@@ -150,14 +159,7 @@ public class RepositoriesControllerPerformanceTest {
                 build();
     }
 
-
-    private void addRepositoriesFromTo(int from, int totalRepositoryCount) {
-        repositories = IntStream.range(from, totalRepositoryCount - 1).boxed().map(RepositoriesControllerPerformanceTest::repoNo).collect(Collectors.toList());
-        githubMock.givenRepositories(repositories);
-    }
-
-
     private ResponseEntity<Repository> getRepository(GithubRepository repo) {
         return restTemplate.exchange(repositoriesUrl, HttpMethod.GET, new HttpEntity<>(new HttpHeaders()), Repository.class, repo.getOwner().getLogin(), repo.getName());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoriesController;
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryBodies;
+import com.falco.recruitment.githubbrowser.ServedRepository;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.tracing.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.falco.recruitment.githubbrowser.RepositoriesController.REPOSITORIES_URL;
+import static com.falco.recruitment.githubbrowser.cache.CachingRepositoryFinder.CACHING_ID;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(AsyncRepositoriesController.class)
+@TestPropertySource(properties = AsyncRepositoriesController.REPOSITORIES_ASYNC + "=true")
+@Import({StageTimers.class, Tracer.class, RepositoryBodies.class})
+public class AsyncRepositoriesControllerTest {
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").eTag(ETag.from("abc")).build();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value(REPOSITORIES_URL)
+    private String repositoriesUrl;
+
+    @MockBean(name = CACHING_ID)
+    private AsyncRepositoryFinder repositoryFinder;
+    private CompletableFuture<Optional<ServedRepository>> lookup;
+
+    @Before
+    public void setUp() {
+        lookup = new CompletableFuture<>();
+        when(repositoryFinder.tryServeAsync(any(), any())).thenReturn(lookup);
+    }
+
+    @Test
+    public void shouldFindRepositoryOnceLookupCompletes() throws Exception {
+        MvcResult started = startLookup();
+
+        lookup.complete(Optional.of(ServedRepository.fresh(REPOSITORY)));
+
+        mvc.perform(asyncDispatch(started)).
+                andDo(print()).
+                andExpect(status().isOk()).
+                andExpect(header().string("ETag", REPOSITORY.getETag().toString())).
+                andExpect(content().json(objectMapper.writeValueAsString(REPOSITORY), true));
+    }
+
+    @Test
+    public void shouldReturn404WhenNoRepositoryFound() throws Exception {
+        MvcResult started = startLookup();
+
+        lookup.complete(Optional.empty());
+
+        mvc.perform(asyncDispatch(started)).
+                andDo(print()).
+                andExpect(status().isNotFound()).
+                andExpect(content().string(""));
+    }
+
+    @Test
+    public void shouldReturn503WhenRateLimitIsSpent() throws Exception {
+        MvcResult started = startLookup();
+
+        lookup.completeExceptionally(new RateLimitExceededException("rejected by Github", Instant.ofEpochSecond(1500000000)));
+
+        mvc.perform(asyncDispatch(started)).
+                andDo(print()).
+                andExpect(status().isServiceUnavailable());
+    }
+
+    private MvcResult startLookup() throws Exception {
+        return mvc.perform(get(repositoriesUrl, "owner", "name")).
+                andExpect(request().asyncStarted()).
+                andReturn();
+    }
+}
@@ -0,0 +1,106 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.BatchRepositoriesController;
+import com.falco.recruitment.githubbrowser.BatchRepositoryFinder;
+import com.falco.recruitment.githubbrowser.BatchResult;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.tracing.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.falco.recruitment.githubbrowser.BatchRepositoriesController.BATCH_URL;
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(BatchRepositoriesController.class)
+@TestPropertySource(properties = "githubbrowser.repositories.batch.max.size=3")
+@Import(Tracer.class)
+public class BatchRepositoriesControllerTest {
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").build();
+    private static final OwnerRepository MISSING = ownerRepository("owner", "missing");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value(BATCH_URL)
+    private String batchUrl;
+
+    @MockBean
+    private BatchRepositoryFinder batchRepositoryFinder;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStreamOneJsonLinePerRepository() throws Exception {
+        BatchResult found = BatchResult.found(REPOSITORY.ownerRepository(), REPOSITORY);
+        BatchResult notFound = BatchResult.notFound(MISSING);
+        when(batchRepositoryFinder.findAll(any(), any())).then(invocation -> {
+            Consumer<BatchResult> resultConsumer = (Consumer<BatchResult>) invocation.getArguments()[1];
+            resultConsumer.accept(found);
+            resultConsumer.accept(notFound);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        MvcResult started = mvc.perform(post(batchUrl).contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(asList(REPOSITORY.ownerRepository(), MISSING)))).
+                andDo(print()).
+                andExpect(request().asyncStarted()).
+                andReturn();
+
+        assertThat(started.getResponse().getStatus()).isEqualTo(200);
+        assertThat(started.getResponse().getContentType()).startsWith("application/x-ndjson");
+        assertThat(started.getResponse().getContentAsString()).isEqualTo(
+                objectMapper.writeValueAsString(found) + "\n" + objectMapper.writeValueAsString(notFound) + "\n");
+    }
+
+    @Test
+    public void shouldReturn413WhenBatchIsOverLimit() throws Exception {
+        List<OwnerRepository> ownerRepositories = IntStream.range(0, 4)
+                .mapToObj(i -> ownerRepository("owner", "name" + i))
+                .collect(Collectors.toList());
+
+        mvc.perform(post(batchUrl).contentType(APPLICATION_JSON).content(objectMapper.writeValueAsString(ownerRepositories))).
+                andDo(print()).
+                andExpect(status().isPayloadTooLarge());
+        verifyZeroInteractions(batchRepositoryFinder);
+    }
+
+    @Test
+    public void shouldReturn503WhenBatchExecutorIsFull() throws Exception {
+        when(batchRepositoryFinder.findAll(any(), any())).thenThrow(new RejectedExecutionException());
+
+        mvc.perform(post(batchUrl).contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singletonList(MISSING)))).
+                andDo(print()).
+                andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,128 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.BatchRepositoryFinder;
+import com.falco.recruitment.githubbrowser.BatchResult;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class BatchRepositoryFinderTest {
+    private static final int CONCURRENCY = 3;
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").build();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private ExecutorService executor;
+    private RepositoryFinder repositoryFinder;
+    private BatchRepositoryFinder batchRepositoryFinder;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(10);
+        repositoryFinder = mock(RepositoryFinder.class);
+        batchRepositoryFinder = new BatchRepositoryFinder(repositoryFinder, executor, CONCURRENCY);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReportStatusOfEachRepository() throws Exception {
+        OwnerRepository missing = ownerRepository("owner", "missing");
+        OwnerRepository failing = ownerRepository("owner", "failing");
+        when(repositoryFinder.tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG)).thenReturn(Optional.of(REPOSITORY));
+        when(repositoryFinder.tryFind(missing, ETag.NO_ETAG)).thenReturn(Optional.empty());
+        when(repositoryFinder.tryFind(failing, ETag.NO_ETAG)).thenThrow(new RuntimeException("Connection Lost!"));
+
+        List<BatchResult> results = findAll(asList(REPOSITORY.ownerRepository(), missing, failing));
+
+        assertThat(results).containsOnly(
+                BatchResult.found(REPOSITORY.ownerRepository(), REPOSITORY),
+                BatchResult.notFound(missing),
+                BatchResult.error(failing, BatchResult.ErrorCode.INTERNAL_ERROR));
+    }
+
+    @Test
+    public void shouldReportRateLimitWithoutExceptionDetails() throws Exception {
+        when(repositoryFinder.tryFind(any(), any())).thenThrow(new RateLimitExceededException("token abc spent", Instant.now()));
+
+        List<BatchResult> results = findAll(asList(REPOSITORY.ownerRepository()));
+
+        assertThat(results).containsOnly(BatchResult.error(REPOSITORY.ownerRepository(), BatchResult.ErrorCode.RATE_LIMITED));
+    }
+
+    @Test
+    public void shouldDrainWithFewerWorkersWhenExecutorIsFull() throws Exception {
+        ExecutorService singleWorker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            batchRepositoryFinder = new BatchRepositoryFinder(repositoryFinder, singleWorker, CONCURRENCY);
+            when(repositoryFinder.tryFind(any(), any())).thenReturn(Optional.empty());
+            List<OwnerRepository> ownerRepositories = IntStream.range(0, 20)
+                    .mapToObj(i -> ownerRepository("owner", "name" + i))
+                    .collect(Collectors.toList());
+
+            assertThat(findAll(ownerRepositories)).hasSize(20);
+        } finally {
+            singleWorker.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldLimitConcurrentLookups() throws Exception {
+        when(repositoryFinder.tryFind(any(), any())).then(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return Optional.empty();
+        });
+        List<OwnerRepository> ownerRepositories = IntStream.range(0, 20)
+                .mapToObj(i -> ownerRepository("owner", "name" + i))
+                .collect(Collectors.toList());
+
+        List<BatchResult> results = findAll(ownerRepositories);
+
+        assertThat(results).hasSize(20);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(CONCURRENCY);
+    }
+
+    @Test
+    public void shouldStopWhenConsumerFails() {
+        when(repositoryFinder.tryFind(any(), any())).thenReturn(Optional.empty());
+        List<OwnerRepository> ownerRepositories = IntStream.range(0, 20)
+                .mapToObj(i -> ownerRepository("owner", "name" + i))
+                .collect(Collectors.toList());
+
+        CompletableFuture<Void> done = batchRepositoryFinder.findAll(ownerRepositories, result -> {
+            throw new IllegalStateException("Client disconnected");
+        });
+
+        assertThat(done.handle((result, e) -> e).join()).isNotNull();
+        verify(repositoryFinder, atMost(CONCURRENCY)).tryFind(any(), any());
+    }
+
+    private List<BatchResult> findAll(List<OwnerRepository> ownerRepositories) throws Exception {
+        List<BatchResult> results = new CopyOnWriteArrayList<>();
+        batchRepositoryFinder.findAll(ownerRepositories, results::add).get(5, TimeUnit.SECONDS);
+        return results;
+    }
+}
@@ -0,0 +1,153 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.cache.CacheWarmer;
+import com.falco.recruitment.githubbrowser.cache.NotFoundCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import com.falco.recruitment.githubbrowser.integration.GithubTokenPool;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CacheWarmerTest {
+    private static final int CONCURRENCY = 2;
+    private static final int REQUESTS_PER_SECOND = 50;
+    private static final int RATE_LIMIT_PER_HOUR = 5000;
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").build();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private ExecutorService executor;
+    private RepositoryFinder repositoryFinder;
+    private RepositoryCache repositoryCache;
+    private GithubTokenPool tokenPool;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(CONCURRENCY);
+        repositoryFinder = mock(RepositoryFinder.class);
+        when(repositoryFinder.tryFind(any(), any())).thenReturn(Optional.empty());
+        repositoryCache = new RepositoryCache(100, Duration.ofSeconds(60), Duration.ZERO, Duration.ZERO,
+                RepositoryStore.NONE, NotFoundCache.NONE, new MutableClock());
+        tokenPool = new GithubTokenPool(Collections.emptyList(),
+                () -> new RateLimitBudget(RATE_LIMIT_PER_HOUR, 0.1, 50, Duration.ZERO, Clock.systemUTC()));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFetchListedRepositories() throws Exception {
+        when(repositoryFinder.tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG)).thenReturn(Optional.of(REPOSITORY));
+        CacheWarmer cacheWarmer = cacheWarmer(warmupFile("# top repositories", "owner/name", "", "owner/missing", "invalid"), 1.0);
+
+        assertThat(cacheWarmer.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        cacheWarmer.warmUp().get(5, TimeUnit.SECONDS);
+
+        verify(repositoryFinder).tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG);
+        verify(repositoryFinder).tryFind(ownerRepository("owner", "missing"), ETag.NO_ETAG);
+        verifyNoMoreInteractions(repositoryFinder);
+        assertThat(cacheWarmer.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(cacheWarmer.health().getDetails()).containsEntry("found", 1L).containsEntry("notFound", 1L);
+    }
+
+    @Test
+    public void shouldSkipRepositoriesAlreadyCached() throws Exception {
+        repositoryCache.put(REPOSITORY.ownerRepository(), REPOSITORY);
+        CacheWarmer cacheWarmer = cacheWarmer(warmupFile("owner/name"), 1.0);
+
+        cacheWarmer.warmUp().get(5, TimeUnit.SECONDS);
+
+        verifyZeroInteractions(repositoryFinder);
+        assertThat(cacheWarmer.health().getDetails()).containsEntry("alreadyCached", 1L);
+    }
+
+    @Test
+    public void shouldStayWithinShareOfRateLimit() throws Exception {
+        List<String> lines = IntStream.range(0, 20).mapToObj(i -> "owner/name" + i).collect(Collectors.toList());
+        CacheWarmer cacheWarmer = cacheWarmer(warmupFile(lines.toArray(new String[0])), 0.002);
+
+        cacheWarmer.warmUp().get(5, TimeUnit.SECONDS);
+
+        verify(repositoryFinder, times(10)).tryFind(any(), any());
+    }
+
+    @Test
+    public void shouldStayWithinShareOfRateLimitReportedByGithub() throws Exception {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader(RateLimitBudget.LIMIT_HEADER, "60");
+        response.addHeader(RateLimitBudget.REMAINING_HEADER, "60");
+        response.addHeader(RateLimitBudget.RESET_HEADER, String.valueOf(Instant.now().plus(Duration.ofHours(1)).getEpochSecond()));
+        tokenPool.tokens().get(0).budget().update(response);
+        List<String> lines = IntStream.range(0, 20).mapToObj(i -> "owner/name" + i).collect(Collectors.toList());
+        CacheWarmer cacheWarmer = cacheWarmer(warmupFile(lines.toArray(new String[0])), 0.25);
+
+        cacheWarmer.warmUp().get(5, TimeUnit.SECONDS);
+
+        verify(repositoryFinder, times(15)).tryFind(any(), any());
+    }
+
+    @Test
+    public void shouldPaceLookups() throws Exception {
+        List<String> lines = IntStream.range(0, 11).mapToObj(i -> "owner/name" + i).collect(Collectors.toList());
+        CacheWarmer cacheWarmer = cacheWarmer(warmupFile(lines.toArray(new String[0])), 1.0);
+
+        long started = System.nanoTime();
+        cacheWarmer.warmUp().get(5, TimeUnit.SECONDS);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(10 * 1000 / REQUESTS_PER_SECOND);
+    }
+
+    @Test
+    public void shouldBeUpWithoutWarmupFile() {
+        CacheWarmer cacheWarmer = new CacheWarmer(repositoryFinder, repositoryCache, tokenPool, executor, "",
+                CONCURRENCY, REQUESTS_PER_SECOND, 1.0);
+
+        cacheWarmer.warmUp();
+
+        assertThat(cacheWarmer.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private CacheWarmer cacheWarmer(File warmupFile, double rateLimitShare) {
+        return new CacheWarmer(repositoryFinder, repositoryCache, tokenPool, executor, warmupFile.getPath(),
+                CONCURRENCY, REQUESTS_PER_SECOND, rateLimitShare);
+    }
+
+    private File warmupFile(String... lines) throws Exception {
+        File file = folder.newFile();
+        Files.write(file.toPath(), asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,176 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.falco.recruitment.githubbrowser.ServedRepository;
+import com.falco.recruitment.githubbrowser.cache.CachedRepository;
+import com.falco.recruitment.githubbrowser.cache.CachingRepositoryFinder;
+import com.falco.recruitment.githubbrowser.cache.NotFoundCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class CachingRepositoryFinderTest {
+    private static final Duration MAX_AGE = Duration.ofSeconds(60);
+    private static final Duration STALE_WHILE_REVALIDATE = Duration.ofSeconds(30);
+    private static final Duration STALE_IF_ERROR = Duration.ofSeconds(600);
+    private static final Duration NOT_FOUND_TTL = Duration.ofSeconds(10);
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").eTag(ETag.from("abc")).build();
+    private static final Repository UPDATED_REPOSITORY = Repository.builder().owner("owner").name("name").eTag(ETag.from("def")).build();
+    private static final RuntimeException FAILURE = new RuntimeException("Hystrix circuit short-circuited and is OPEN");
+
+    private final MutableClock clock = new MutableClock();
+    private RepositoryFinder delegate;
+    private RepositoryCache repositoryCache;
+    private CachingRepositoryFinder cachingRepositoryFinder;
+
+    @Before
+    public void setUp() {
+        delegate = mock(RepositoryFinder.class);
+        when(delegate.tryFind(any(), any())).thenReturn(Optional.empty());
+        when(delegate.tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG)).thenReturn(Optional.of(REPOSITORY));
+        repositoryCache = new RepositoryCache(100, MAX_AGE, STALE_WHILE_REVALIDATE, STALE_IF_ERROR, RepositoryStore.NONE,
+                new NotFoundCache(NOT_FOUND_TTL, 100, 100, clock), clock);
+        cachingRepositoryFinder = new CachingRepositoryFinder(repositoryCache, delegate, mock(AsyncRepositoryFinder.class), Runnable::run);
+    }
+
+    @Test
+    public void shouldCallDelegateOnceForRepeatedLookups() {
+        assertThat(find(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(REPOSITORY));
+        assertThat(find(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(REPOSITORY));
+
+        verify(delegate, times(1)).tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG);
+        assertThat(repositoryCache.stats().hitCount()).isEqualTo(1);
+        assertThat(repositoryCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldTreatNamesCaseInsensitively() {
+        find(REPOSITORY.ownerRepository());
+
+        assertThat(find(ownerRepository("OWNER", "Name"))).isEqualTo(Optional.of(REPOSITORY));
+        verify(delegate, never()).tryFind(ownerRepository("OWNER", "Name"), ETag.NO_ETAG);
+    }
+
+    @Test
+    public void shouldCacheRepositoryNotFoundTwice() {
+        OwnerRepository missing = ownerRepository("owner", "missing");
+        assertThat(find(missing)).isEqualTo(Optional.empty());
+        assertThat(find(missing)).isEqualTo(Optional.empty());
+        assertThat(find(ownerRepository("Owner", "Missing"))).isEqualTo(Optional.empty());
+
+        verify(delegate, times(2)).tryFind(missing, ETag.NO_ETAG);
+        clock.advance(NOT_FOUND_TTL.plusSeconds(1));
+        find(missing);
+        verify(delegate, times(3)).tryFind(missing, ETag.NO_ETAG);
+    }
+
+    @Test
+    public void shouldForgetNotFoundOnceRepositoryIsStored() {
+        OwnerRepository created = ownerRepository("owner", "created");
+        Repository repository = Repository.builder().owner("owner").name("created").build();
+        find(created);
+        find(created);
+
+        repositoryCache.put(created, repository);
+        repositoryCache.invalidate(created);
+        when(delegate.tryFind(created, ETag.NO_ETAG)).thenReturn(Optional.of(repository));
+
+        assertThat(find(created)).isEqualTo(Optional.of(repository));
+    }
+
+    @Test
+    public void shouldServeStaleAndRefreshInBackground() {
+        find(REPOSITORY.ownerRepository());
+        when(delegate.tryFind(REPOSITORY.ownerRepository(), REPOSITORY.getETag())).thenReturn(Optional.of(UPDATED_REPOSITORY));
+        clock.advance(MAX_AGE.plusSeconds(1));
+
+        assertThat(serve(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(ServedRepository.stale(REPOSITORY)));
+        assertThat(serve(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(ServedRepository.fresh(UPDATED_REPOSITORY)));
+        assertThat(cachingRepositoryFinder.staleServedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRevalidateWithCachedETag() {
+        find(REPOSITORY.ownerRepository());
+        when(delegate.tryFind(REPOSITORY.ownerRepository(), REPOSITORY.getETag()))
+                .thenThrow(new RepositoryNotModifiedException(REPOSITORY.ownerRepository(), REPOSITORY.getETag()));
+        clock.advance(MAX_AGE.plus(STALE_WHILE_REVALIDATE).plusSeconds(1));
+
+        assertThat(find(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(REPOSITORY));
+        assertThat(find(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(REPOSITORY));
+        verify(delegate, times(1)).tryFind(REPOSITORY.ownerRepository(), REPOSITORY.getETag());
+        assertThat(cachingRepositoryFinder.revalidatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRevalidateStoredRepositoryTooOldToServe() {
+        RepositoryStore store = mock(RepositoryStore.class);
+        when(store.load(any())).thenReturn(Optional.of(new CachedRepository(REPOSITORY, clock.instant())));
+        repositoryCache = new RepositoryCache(100, MAX_AGE, STALE_WHILE_REVALIDATE, STALE_IF_ERROR, store, NotFoundCache.NONE, clock);
+        cachingRepositoryFinder = new CachingRepositoryFinder(repositoryCache, delegate, mock(AsyncRepositoryFinder.class), Runnable::run);
+        when(delegate.tryFind(REPOSITORY.ownerRepository(), REPOSITORY.getETag()))
+                .thenThrow(new RepositoryNotModifiedException(REPOSITORY.ownerRepository(), REPOSITORY.getETag()));
+        clock.advance(MAX_AGE.plus(STALE_IF_ERROR).plusSeconds(1));
+
+        assertThat(find(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(REPOSITORY));
+        verify(delegate, never()).tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG);
+        assertThat(cachingRepositoryFinder.revalidatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldServeStaleWhenLookupFails() {
+        find(REPOSITORY.ownerRepository());
+        when(delegate.tryFind(any(), any())).thenThrow(FAILURE);
+        clock.advance(MAX_AGE.plus(STALE_WHILE_REVALIDATE).plusSeconds(1));
+
+        assertThat(serve(REPOSITORY.ownerRepository())).isEqualTo(Optional.of(ServedRepository.stale(REPOSITORY)));
+        assertThat(cachingRepositoryFinder.staleOnErrorServedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFailPastStaleIfError() {
+        find(REPOSITORY.ownerRepository());
+        when(delegate.tryFind(any(), any())).thenThrow(FAILURE);
+        clock.advance(MAX_AGE.plus(STALE_IF_ERROR).plusSeconds(1));
+
+        assertThatThrownBy(() -> find(REPOSITORY.ownerRepository())).isEqualTo(FAILURE);
+    }
+
+    @Test
+    public void shouldForgetRepositoryRemovedFromGithub() {
+        find(REPOSITORY.ownerRepository());
+        when(delegate.tryFind(REPOSITORY.ownerRepository(), REPOSITORY.getETag())).thenReturn(Optional.empty());
+        clock.advance(MAX_AGE.plus(STALE_WHILE_REVALIDATE).plusSeconds(1));
+
+        assertThat(find(REPOSITORY.ownerRepository())).isEqualTo(Optional.empty());
+        assertThat(repositoryCache.get(REPOSITORY.ownerRepository())).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void shouldLoadWithoutRequestETag() {
+        assertThat(cachingRepositoryFinder.tryFind(REPOSITORY.ownerRepository(), ETag.from("client"))).isEqualTo(Optional.of(REPOSITORY));
+        verify(delegate).tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG);
+    }
+
+    private Optional<Repository> find(OwnerRepository ownerRepository) {
+        return cachingRepositoryFinder.tryFind(ownerRepository, ETag.NO_ETAG);
+    }
+
+    private Optional<ServedRepository> serve(OwnerRepository ownerRepository) {
+        return cachingRepositoryFinder.tryServe(ownerRepository, ETag.NO_ETAG);
+    }
+}
@@ -0,0 +1,136 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.AsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.integration.CoalescingRepositoryFinder;
+import com.jayway.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class CoalescingRepositoryFinderTest {
+    private static final int CALLERS = 5;
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").build();
+    private static final OwnerRepository OWNER_REPOSITORY = REPOSITORY.ownerRepository();
+
+    private final CountDownLatch upstreamReleased = new CountDownLatch(1);
+    private ExecutorService executor;
+    private RepositoryFinder delegate;
+    private AsyncRepositoryFinder asyncDelegate;
+    private CoalescingRepositoryFinder coalescingRepositoryFinder;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+        delegate = mock(RepositoryFinder.class);
+        asyncDelegate = mock(AsyncRepositoryFinder.class);
+        coalescingRepositoryFinder = new CoalescingRepositoryFinder(delegate, asyncDelegate);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareSingleUpstreamCall() throws Exception {
+        when(delegate.tryFind(OWNER_REPOSITORY, ETag.NO_ETAG)).then(invocation -> {
+            upstreamReleased.await();
+            return Optional.of(REPOSITORY);
+        });
+
+        List<Future<Optional<Repository>>> results = findConcurrently();
+        awaitWaiters(CALLERS - 1);
+        upstreamReleased.countDown();
+
+        for (Future<Optional<Repository>> result : results) {
+            assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(Optional.of(REPOSITORY));
+        }
+        verify(delegate, times(1)).tryFind(OWNER_REPOSITORY, ETag.NO_ETAG);
+        assertThat(coalescingRepositoryFinder.coalescedCount()).isEqualTo(CALLERS - 1);
+        assertThat(coalescingRepositoryFinder.waiters()).isEmpty();
+    }
+
+    @Test
+    public void shouldShareUpstreamError() throws Exception {
+        RuntimeException failure = new RuntimeException("Connection Lost!");
+        when(delegate.tryFind(OWNER_REPOSITORY, ETag.NO_ETAG)).then(invocation -> {
+            upstreamReleased.await();
+            throw failure;
+        });
+
+        List<Future<Optional<Repository>>> results = findConcurrently();
+        awaitWaiters(CALLERS - 1);
+        upstreamReleased.countDown();
+
+        for (Future<Optional<Repository>> result : results) {
+            assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining(failure.getMessage());
+        }
+        verify(delegate, times(1)).tryFind(OWNER_REPOSITORY, ETag.NO_ETAG);
+    }
+
+    @Test
+    public void shouldCallUpstreamAgainAfterCompletion() {
+        when(delegate.tryFind(OWNER_REPOSITORY, ETag.NO_ETAG)).thenReturn(Optional.of(REPOSITORY));
+
+        coalescingRepositoryFinder.tryFind(OWNER_REPOSITORY, ETag.NO_ETAG);
+        coalescingRepositoryFinder.tryFind(OWNER_REPOSITORY, ETag.NO_ETAG);
+
+        verify(delegate, times(2)).tryFind(OWNER_REPOSITORY, ETag.NO_ETAG);
+    }
+
+    @Test
+    public void shouldShareSingleAsyncUpstreamCall() throws Exception {
+        CompletableFuture<Optional<Repository>> upstream = new CompletableFuture<>();
+        when(asyncDelegate.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG)).thenReturn(upstream);
+
+        CompletableFuture<Optional<Repository>> first = coalescingRepositoryFinder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG);
+        CompletableFuture<Optional<Repository>> second = coalescingRepositoryFinder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG);
+        assertThat(coalescingRepositoryFinder.waiters().get(OWNER_REPOSITORY)).isEqualTo(1);
+        upstream.complete(Optional.of(REPOSITORY));
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(Optional.of(REPOSITORY));
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(Optional.of(REPOSITORY));
+        verify(asyncDelegate, times(1)).tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG);
+        assertThat(coalescingRepositoryFinder.waiters()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotLetLeaderCancelWaiters() throws Exception {
+        CompletableFuture<Optional<Repository>> upstream = new CompletableFuture<>();
+        when(asyncDelegate.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG)).thenReturn(upstream);
+
+        CompletableFuture<Optional<Repository>> leader = coalescingRepositoryFinder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG);
+        CompletableFuture<Optional<Repository>> waiter = coalescingRepositoryFinder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG);
+        leader.cancel(true);
+        upstream.complete(Optional.of(REPOSITORY));
+
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo(Optional.of(REPOSITORY));
+    }
+
+    private List<Future<Optional<Repository>>> findConcurrently() {
+        return IntStream.range(0, CALLERS)
+                .mapToObj(i -> executor.submit(() -> coalescingRepositoryFinder.tryFind(OWNER_REPOSITORY, ETag.NO_ETAG)))
+                .collect(Collectors.toList());
+    }
+
+    private void awaitWaiters(int waiters) {
+        Awaitility.await().atMost(1, TimeUnit.SECONDS)
+                .until(() -> coalescingRepositoryFinder.waiters().getOrDefault(OWNER_REPOSITORY, 0) == waiters);
+    }
+}
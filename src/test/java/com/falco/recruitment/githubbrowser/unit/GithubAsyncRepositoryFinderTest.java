@@ -0,0 +1,92 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.falco.recruitment.githubbrowser.integration.GithubAsyncRepositoryFinder;
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static com.falco.recruitment.githubbrowser.integration.GithubRepository.login;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class GithubAsyncRepositoryFinderTest {
+    private static final OwnerRepository OWNER_REPOSITORY = ownerRepository("owner", "name");
+
+    private final CompletableFuture<ResponseEntity<GithubRepository>> response = new CompletableFuture<>();
+    private ETag requestedETag;
+    private final GithubAsyncRepositoryFinder finder = new GithubAsyncRepositoryFinder((ownerRepository, eTag) -> {
+        requestedETag = eTag;
+        return response;
+    });
+
+    @Test
+    public void shouldMapRepositoryOnceResponseArrives() {
+        CompletableFuture<Optional<Repository>> found = finder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG);
+        assertThat(found.isDone()).isFalse();
+
+        response.complete(new ResponseEntity<>(GithubRepository.builder().owner(login("owner")).name("name").build(),
+                eTag(ETag.from("abc")), HttpStatus.OK));
+
+        assertThat(found.join()).isEqualTo(Optional.of(Repository.builder().owner("owner").name("name").eTag(ETag.from("abc")).build()));
+    }
+
+    @Test
+    public void shouldReturnEmptyForNonexistentRepository() {
+        response.complete(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+
+        assertThat(finder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG).join()).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void shouldFailWithNotModifiedForConditionalRequest() {
+        response.complete(new ResponseEntity<>(eTag(ETag.from("abc")), HttpStatus.NOT_MODIFIED));
+
+        Throwable failure = catchThrowable(() -> finder.tryFindAsync(OWNER_REPOSITORY, ETag.from("abc")).join());
+
+        assertThat(requestedETag).isEqualTo(ETag.from("abc"));
+        assertThat(failure).isInstanceOf(CompletionException.class).hasCauseInstanceOf(RepositoryNotModifiedException.class);
+    }
+
+    @Test
+    public void shouldFailWithRateLimitExceededWhenForbidden() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.REMAINING_HEADER, "0");
+        headers.set(RateLimitBudget.RESET_HEADER, "1500000000");
+        response.complete(new ResponseEntity<>(headers, HttpStatus.FORBIDDEN));
+
+        Throwable failure = catchThrowable(() -> finder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG).join());
+
+        assertThat(failure).isInstanceOf(CompletionException.class).hasCauseInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    public void shouldPassOnTransportFailure() {
+        ResourceAccessException connectionRefused = new ResourceAccessException("Connection refused");
+        response.completeExceptionally(connectionRefused);
+
+        Throwable failure = catchThrowable(() -> finder.tryFindAsync(OWNER_REPOSITORY, ETag.NO_ETAG).join());
+
+        assertThat(failure).isInstanceOf(CompletionException.class);
+        assertThat(failure.getCause()).isSameAs(connectionRefused);
+    }
+
+    private static HttpHeaders eTag(ETag eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        eTag.addTo(headers);
+        return headers;
+    }
+}
@@ -1,8 +1,14 @@
 package com.falco.recruitment.githubbrowser.unit;
 
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
 import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.falco.recruitment.githubbrowser.integration.BlockingGithubTransport;
 import com.falco.recruitment.githubbrowser.integration.GithubRepository;
 import com.falco.recruitment.githubbrowser.integration.GithubRepositoryFinder;
+import com.falco.recruitment.githubbrowser.integration.GithubTokenPool;
+import com.falco.recruitment.githubbrowser.integration.NioGithubTransport;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Before;
@@ -17,13 +23,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Optional;
 
 import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
 import static com.falco.recruitment.githubbrowser.integration.GithubRepository.login;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 
@@ -33,16 +45,22 @@ public class GithubRepositoryFinderTest {
     private MockRestServiceServer mockServer;
     private GithubRepositoryFinder githubRepositoryFinder;
     private final String githubReposUrl = "http://localhost/repositories/{owner}/{repository}";
+    private static final String NOT_FOUND_BODY = "{\"message\":\"Not Found\",\"documentation_url\":\"https://developer.github.com/v3\"}";
+    private static final String RATE_LIMITED_BODY = "{\"message\":\"API rate limit exceeded\",\"documentation_url\":\"https://developer.github.com/v3/#rate-limiting\"}";
     @Autowired
     private RestTemplate restTemplate;
     @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+    @Autowired
+    private GithubTokenPool tokenPool;
+    @Autowired
     private ObjectMapper objectMapper;
 
 
     @Before
     public void setUp() {
         mockServer = MockRestServiceServer.createServer(restTemplate);
-        githubRepositoryFinder = new GithubRepositoryFinder(githubReposUrl, restTemplate);
+        githubRepositoryFinder = new GithubRepositoryFinder(new BlockingGithubTransport(githubReposUrl, restTemplate));
     }
 
     @Test
@@ -53,6 +71,53 @@ public class GithubRepositoryFinderTest {
         assertThat(githubRepositoryFinder.tryFind(ownerRepository("owner", "name"), ETag.NO_ETAG)).isEqualTo(Optional.empty());
     }
 
+    @Test
+    public void shouldReturnEmptyForNonexistentRepositoryWithGithubErrorBody() {
+        mockServer.expect(requestTo(urlFor("owner", "name")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(NOT_FOUND_BODY));
+        assertThat(githubRepositoryFinder.tryFind(ownerRepository("owner", "name"), ETag.NO_ETAG)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void shouldRaiseRateLimitExceededWhenForbiddenWithGithubErrorBody() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.REMAINING_HEADER, "0");
+        headers.set(RateLimitBudget.RESET_HEADER, "1500000000");
+        mockServer.expect(requestTo(urlFor("owner", "name")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).headers(headers).body(RATE_LIMITED_BODY));
+        try {
+            githubRepositoryFinder.tryFind(ownerRepository("owner", "name"), ETag.NO_ETAG);
+            throw new AssertionError("rate limit not detected");
+        } catch (RateLimitExceededException e) {
+            assertThat(e.getResetAt()).isEqualTo(Instant.ofEpochSecond(1500000000));
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyForNonexistentRepositoryOverNio() {
+        MockRestServiceServer asyncServer = MockRestServiceServer.createServer(asyncRestTemplate);
+        GithubRepositoryFinder nioFinder = new GithubRepositoryFinder(new NioGithubTransport(githubReposUrl, asyncRestTemplate, tokenPool));
+        asyncServer.expect(requestTo(urlFor("owner", "name")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(NOT_FOUND_BODY));
+        assertThat(nioFinder.tryFind(ownerRepository("owner", "name"), ETag.NO_ETAG)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void shouldNotSendNioRequestOverRateLimit() {
+        MockRestServiceServer asyncServer = MockRestServiceServer.createServer(asyncRestTemplate);
+        GithubTokenPool exhaustedPool = new GithubTokenPool(Collections.emptyList(),
+                () -> new RateLimitBudget(0, 0.0, 1, Duration.ZERO, Clock.systemUTC()));
+        GithubRepositoryFinder nioFinder = new GithubRepositoryFinder(new NioGithubTransport(githubReposUrl, asyncRestTemplate, exhaustedPool));
+
+        Throwable rejected = catchThrowable(() -> nioFinder.tryFind(ownerRepository("owner", "name"), ETag.NO_ETAG));
+
+        assertThat(rejected).isInstanceOf(RateLimitExceededException.class);
+        asyncServer.verify();
+    }
+
     @Test
     public void shouldReturnRepository() throws JsonProcessingException {
         String json = objectMapper.writeValueAsString(GithubRepository.builder().owner(login("owner")).name("name").build());
@@ -65,11 +130,12 @@ public class GithubRepositoryFinderTest {
                 Optional.of(Repository.builder().owner("owner").name("name").eTag(ETag.from("abc")).build()));
     }
 
-    @Test(expected = IllegalStateException.class)
+    @Test(expected = RepositoryNotModifiedException.class)
     public void shouldRaiseExceptionWhenNoContentForExistingRepository() {
         mockServer.expect(requestTo(urlFor("owner", "name")))
                 .andExpect(method(HttpMethod.GET))
                 .andExpect(header(HttpHeaders.ETAG, ETag.from("abc").toString()))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETag.from("abc").toString()))
                 .andRespond(withStatus(HttpStatus.NOT_MODIFIED).
                         headers(eTag(ETag.from("abc"))));
         githubRepositoryFinder.tryFind(ownerRepository("owner", "name"), ETag.from("abc"));
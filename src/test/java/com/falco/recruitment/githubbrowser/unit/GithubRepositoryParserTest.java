@@ -0,0 +1,145 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryParser;
+import com.falco.recruitment.githubbrowser.integration.GithubWebhookPayload;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GithubRepositoryParserTest {
+    private final GithubRepositoryParser parser = new GithubRepositoryParser();
+
+    @Test
+    public void shouldReadOnlyTopLevelFieldsOfFullPayload() throws Exception {
+        try (InputStream json = getClass().getResourceAsStream("/github/repository.json")) {
+            assertThat(parser.parse(json)).isEqualTo(GithubRepository.builder()
+                    .name("spring-boot")
+                    .fullName("wokol/spring-boot")
+                    .description("wokol repository for Spring Boot")
+                    .stars(12)
+                    .createdAt(LocalDateTime.parse("2016-07-17T07:24:27"))
+                    .cloneUrl("https://github.com/wokol/spring-boot.git")
+                    .owner(GithubRepository.login("wokol"))
+                    .build());
+        }
+    }
+
+    @Test
+    public void shouldAcceptNullValues() throws Exception {
+        String json = new JSONObject()
+                .put("name", "spring-boot")
+                .put("description", JSONObject.NULL)
+                .put("created_at", JSONObject.NULL)
+                .put("owner", new JSONObject().put("login", "wokol"))
+                .toString();
+        assertThat(parse(json)).isEqualTo(GithubRepository.builder()
+                .name("spring-boot")
+                .owner(GithubRepository.login("wokol"))
+                .build());
+    }
+
+    @Test
+    public void shouldSkipObjectsAndArraysInPlaceOfStrings() throws Exception {
+        String json = new JSONObject()
+                .put("name", "spring-boot")
+                .put("full_name", new JSONObject().put("name", "hijacked").put("owner", new JSONObject().put("login", "hijacked")))
+                .put("description", new JSONArray().put(new JSONObject().put("name", "hijacked")))
+                .put("owner", new JSONObject().put("login", "wokol"))
+                .put("stargazers_count", 12)
+                .toString();
+        assertThat(parse(json)).isEqualTo(GithubRepository.builder()
+                .name("spring-boot")
+                .stars(12)
+                .owner(GithubRepository.login("wokol"))
+                .build());
+    }
+
+    @Test
+    public void shouldRequireNameToBeString() {
+        String json = new JSONObject()
+                .put("name", new JSONObject().put("name", "spring-boot"))
+                .put("owner", new JSONObject().put("login", "wokol"))
+                .toString();
+        assertThatThrownBy(() -> parse(json)).isInstanceOf(JsonMappingException.class).hasMessageContaining("name");
+    }
+
+    @Test
+    public void shouldReadLocalDateTime() throws Exception {
+        String json = new JSONObject()
+                .put("name", "spring-boot")
+                .put("created_at", "2017-01-01T12:15:15")
+                .put("owner", new JSONObject().put("login", "wokol"))
+                .toString();
+        assertThat(parse(json).getCreatedAt()).isEqualTo(LocalDateTime.parse("2017-01-01T12:15:15"));
+    }
+
+    @Test
+    public void shouldRequireOwner() {
+        String json = new JSONObject()
+                .put("name", "spring-boot")
+                .put("parent", new JSONObject().put("owner", new JSONObject().put("login", "spring-projects")))
+                .toString();
+        assertThatThrownBy(() -> parse(json)).isInstanceOf(JsonMappingException.class).hasMessageContaining("owner");
+    }
+
+    @Test
+    public void shouldRequireName() {
+        String json = new JSONObject()
+                .put("owner", new JSONObject().put("login", "wokol"))
+                .toString();
+        assertThatThrownBy(() -> parse(json)).isInstanceOf(JsonMappingException.class).hasMessageContaining("name");
+    }
+
+    @Test
+    public void shouldReadWebhookPayloadSkippingCommits() throws Exception {
+        String json = new JSONObject()
+                .put("ref", "refs/heads/master")
+                .put("commits", new JSONArray().put(new JSONObject().put("id", "abc").put("message", "Fix")))
+                .put("repository", new JSONObject()
+                        .put("name", "spring-boot")
+                        .put("created_at", 1468740267)
+                        .put("stargazers_count", 13)
+                        .put("owner", new JSONObject().put("name", "wokol").put("login", "wokol")))
+                .toString();
+
+        GithubWebhookPayload payload = parser.parseWebhookPayload(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(payload.action().isPresent()).isFalse();
+        assertThat(payload.getRepository()).isEqualTo(GithubRepository.builder()
+                .name("spring-boot")
+                .createdAt(LocalDateTime.parse("2016-07-17T07:24:27"))
+                .stars(13)
+                .owner(GithubRepository.login("wokol"))
+                .build());
+    }
+
+    @Test
+    public void shouldReadChangesOfRenamedRepository() throws Exception {
+        String json = new JSONObject()
+                .put("action", "renamed")
+                .put("changes", new JSONObject().put("repository", new JSONObject().put("name", new JSONObject().put("from", "old-name"))))
+                .put("repository", new JSONObject().put("name", "new-name").put("owner", new JSONObject().put("login", "wokol")))
+                .toString();
+
+        GithubWebhookPayload payload = parser.parseWebhookPayload(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(payload.action().get()).isEqualTo("renamed");
+        assertThat(payload.previousName().get()).isEqualTo("old-name");
+        assertThat(payload.previousOwner().isPresent()).isFalse();
+    }
+
+    private GithubRepository parse(String json) throws IOException {
+        return parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import com.falco.recruitment.githubbrowser.integration.GithubTokenPool;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
+import com.falco.recruitment.githubbrowser.performance.GithubStandIn;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class GithubTokenPoolTest {
+    private static final int LIMIT = 5;
+    private static final int BURST = 100;
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    public void shouldSendRequestsAnonymouslyWithoutTokens() {
+        GithubTokenPool tokenPool = tokenPool(emptyList());
+        HttpGet request = new HttpGet("/repos/owner/name");
+
+        tokenPool.acquire(false, true).authorize(request);
+
+        assertThat(tokenPool.isAuthenticated()).isFalse();
+        assertThat(request.containsHeader("Authorization")).isFalse();
+        assertThat(tokenPool.tokens().get(0).name()).isEqualTo(GithubTokenPool.ANONYMOUS);
+    }
+
+    @Test
+    public void shouldPickTokenWithMostRequestsRemaining() {
+        GithubTokenPool tokenPool = tokenPool(asList("first", "second"));
+        Instant resetAt = clock.instant().plus(Duration.ofMinutes(10));
+        tokenPool.tokens().get(0).budget().update(response(1, resetAt));
+        tokenPool.tokens().get(1).budget().update(response(3, resetAt));
+        HttpGet request = new HttpGet("/repos/owner/name");
+
+        tokenPool.acquire(false, true).authorize(request);
+
+        assertThat(request.getFirstHeader("Authorization").getValue()).isEqualTo("token second");
+    }
+
+    @Test
+    public void shouldSkipExhaustedTokensUntilReset() {
+        GithubTokenPool tokenPool = tokenPool(asList("first", "second"));
+        Instant firstResetAt = clock.instant().plus(Duration.ofMinutes(10));
+        tokenPool.tokens().get(0).budget().update(response(0, firstResetAt));
+        tokenPool.tokens().get(1).budget().update(response(0, firstResetAt.plus(Duration.ofMinutes(10))));
+
+        Throwable exhausted = catchThrowable(() -> tokenPool.acquire(true, true));
+        clock.advance(Duration.ofMinutes(10));
+
+        assertThat(exhausted).isInstanceOf(RateLimitExceededException.class);
+        assertThat(((RateLimitExceededException) exhausted).getResetAt()).isEqualTo(firstResetAt);
+        assertThat(tokenPool.acquire(false, true).name()).isEqualTo("token1");
+    }
+
+    @Test
+    public void shouldSpreadRequestsOverTokensWithinTheirLimits() throws Exception {
+        List<String> secrets = asList("first", "second", "third");
+        GithubStandIn githubStandIn = GithubStandIn.defaults().port(0).rateLimitPerHour(LIMIT).build().start();
+        GithubTokenPool tokenPool = new GithubTokenPool(secrets,
+                () -> new RateLimitBudget(LIMIT, 0.0, BURST, Duration.ZERO, Clock.systemUTC()));
+        try (CloseableHttpClient client = HttpClients.custom()
+                .addInterceptorFirst(tokenPool.requestInterceptor())
+                .addInterceptorFirst(tokenPool.responseInterceptor())
+                .build()) {
+            githubStandIn.givenRepository("owner", "name");
+            HttpGet request = new HttpGet("http://localhost:" + githubStandIn.port() + "/repos/owner/name");
+            for (int i = 0; i < secrets.size() * LIMIT; i++) {
+                request.setHeader(GithubTokenPool.TOKEN_HEADER, tokenPool.acquire(false, false).name());
+                try (CloseableHttpResponse response = client.execute(request)) {
+                    assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+                }
+            }
+
+            Throwable exhausted = catchThrowable(() -> tokenPool.acquire(false, false));
+
+            assertThat(exhausted).isInstanceOf(RateLimitExceededException.class);
+            assertThat(githubStandIn.statusCount(403)).isEqualTo(0);
+            secrets.forEach(secret -> assertThat(githubStandIn.rateLimitRemaining(secret)).isEqualTo(0));
+            tokenPool.tokens().forEach(token -> assertThat(token.requestCount()).isEqualTo(LIMIT));
+        } finally {
+            githubStandIn.stop();
+        }
+    }
+
+    private GithubTokenPool tokenPool(List<String> secrets) {
+        return new GithubTokenPool(secrets, () -> new RateLimitBudget(LIMIT, 0.0, BURST, Duration.ZERO, clock));
+    }
+
+    private static HttpResponse response(int remaining, Instant resetAt) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setHeader(RateLimitBudget.LIMIT_HEADER, String.valueOf(LIMIT));
+        response.setHeader(RateLimitBudget.REMAINING_HEADER, String.valueOf(remaining));
+        response.setHeader(RateLimitBudget.RESET_HEADER, String.valueOf(resetAt.getEpochSecond()));
+        return response;
+    }
+}
@@ -0,0 +1,149 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.CachedRepository;
+import com.falco.recruitment.githubbrowser.cache.MappedRepositoryStore;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedRepositoryStoreTest {
+    private static final int CAPACITY = 4096;
+    private static final Instant FETCHED_AT = Instant.parse("2018-01-01T10:15:30Z");
+    private static final Repository REPOSITORY = Repository.builder()
+            .owner("Owner").name("Name").fullName("Owner/Name").description("description")
+            .cloneUrl("https://github.com/Owner/Name.git").stars(12)
+            .createdAt(LocalDateTime.of(2016, 7, 17, 7, 24, 27))
+            .eTag(ETag.from("abc"))
+            .build();
+    private static final OwnerRepository KEY = ownerRepository("owner", "name");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Path file;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("repositories.cache");
+    }
+
+    @Test
+    public void shouldKeepRepositoriesOverReopen() {
+        MappedRepositoryStore store = new MappedRepositoryStore(file, CAPACITY);
+        store.save(KEY, new CachedRepository(REPOSITORY, FETCHED_AT));
+        store.close();
+
+        MappedRepositoryStore reopened = new MappedRepositoryStore(file, CAPACITY);
+
+        assertThat(reopened.load(KEY)).isEqualTo(Optional.of(new CachedRepository(REPOSITORY, FETCHED_AT)));
+    }
+
+    @Test
+    public void shouldKeepRepositoryWithoutOptionalFields() {
+        Repository repository = Repository.builder().owner("owner").name("name").build();
+        MappedRepositoryStore store = new MappedRepositoryStore(file, CAPACITY);
+        store.save(KEY, new CachedRepository(repository, FETCHED_AT));
+
+        assertThat(new MappedRepositoryStore(file, CAPACITY).load(KEY)).isEqualTo(Optional.of(new CachedRepository(repository, FETCHED_AT)));
+    }
+
+    @Test
+    public void shouldForgetRemovedRepositoryOverReopen() {
+        MappedRepositoryStore store = new MappedRepositoryStore(file, CAPACITY);
+        store.save(KEY, new CachedRepository(REPOSITORY, FETCHED_AT));
+        store.remove(KEY);
+
+        assertThat(new MappedRepositoryStore(file, CAPACITY).load(KEY)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void shouldDiscardTornRecord() throws Exception {
+        OwnerRepository torn = ownerRepository("owner", "torn");
+        MappedRepositoryStore store = new MappedRepositoryStore(file, CAPACITY);
+        store.save(KEY, new CachedRepository(REPOSITORY, FETCHED_AT));
+        long tornPosition = store.usedBytes();
+        store.save(torn, new CachedRepository(REPOSITORY, FETCHED_AT));
+        store.close();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.seek(tornPosition + 20);
+            randomAccessFile.write(new byte[]{1, 2, 3});
+        }
+
+        MappedRepositoryStore reopened = new MappedRepositoryStore(file, CAPACITY);
+
+        assertThat(reopened.load(KEY)).isEqualTo(Optional.of(new CachedRepository(REPOSITORY, FETCHED_AT)));
+        assertThat(reopened.load(torn)).isEqualTo(Optional.empty());
+        assertThat(reopened.usedBytes()).isEqualTo(tornPosition);
+    }
+
+    @Test
+    public void shouldCompactKeepingNewestRepositories() throws Exception {
+        MappedRepositoryStore store = new MappedRepositoryStore(file, CAPACITY);
+        for (int i = 0; i < 100; i++) {
+            store.save(KEY, new CachedRepository(REPOSITORY, FETCHED_AT.plusSeconds(i)));
+            store.save(ownerRepository("owner", "name" + i), new CachedRepository(REPOSITORY, FETCHED_AT.plusSeconds(i)));
+        }
+
+        assertThat(store.compactionCount()).isGreaterThan(0);
+        assertThat(Files.size(file)).isEqualTo(CAPACITY);
+        assertThat(store.load(KEY)).isEqualTo(Optional.of(new CachedRepository(REPOSITORY, FETCHED_AT.plusSeconds(99))));
+        assertThat(store.load(ownerRepository("owner", "name99")).isPresent()).isTrue();
+        assertThat(store.load(ownerRepository("owner", "name0"))).isEqualTo(Optional.empty());
+        assertThat(new MappedRepositoryStore(file, CAPACITY).size()).isEqualTo(store.size());
+    }
+
+    @Test
+    public void shouldKeepLogConsistentUnderConcurrentAppendsAndCompactions() throws Exception {
+        MappedRepositoryStore store = new MappedRepositoryStore(file, CAPACITY);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = IntStream.range(0, 4)
+                    .mapToObj(writer -> executor.submit(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            OwnerRepository key = ownerRepository("owner" + writer, "name" + i % 10);
+                            store.save(key, new CachedRepository(REPOSITORY, FETCHED_AT.plusSeconds(i)));
+                            store.load(key).ifPresent(loaded -> assertThat(loaded.getRepository()).isEqualTo(REPOSITORY));
+                            if (i % 7 == 0) {
+                                store.remove(key);
+                            }
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.compactionCount()).isGreaterThan(0);
+        MappedRepositoryStore reopened = new MappedRepositoryStore(file, CAPACITY);
+        assertThat(reopened.size()).isEqualTo(store.size());
+        for (int writer = 0; writer < 4; writer++) {
+            for (int i = 0; i < 10; i++) {
+                OwnerRepository key = ownerRepository("owner" + writer, "name" + i);
+                assertThat(reopened.load(key)).isEqualTo(store.load(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.BulkheadRejectedException;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.falco.recruitment.githubbrowser.bulkhead.Bulkhead;
+import com.falco.recruitment.githubbrowser.bulkhead.OwnerBulkheads;
+import com.netflix.hystrix.exception.HystrixRuntimeException;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class OwnerBulkheadsTest {
+    private static final int MAX_CONCURRENT = 2;
+    private static final int MIN_REQUESTS = 4;
+    private static final Duration SLEEP_WINDOW = Duration.ofSeconds(5);
+    private static final Bulkhead.Settings SETTINGS = Bulkhead.Settings.builder()
+            .maxConcurrent(MAX_CONCURRENT)
+            .minRequests(MIN_REQUESTS)
+            .errorThresholdPercentage(50)
+            .window(Duration.ofSeconds(10))
+            .sleepWindow(SLEEP_WINDOW)
+            .build();
+
+    private MutableClock clock;
+    private OwnerBulkheads bulkheads;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock();
+        bulkheads = new OwnerBulkheads(0, 100, Duration.ofMinutes(10), SETTINGS, clock);
+    }
+
+    @Test
+    public void shouldRejectLookupsOverConcurrencyLimitOfOwnerOnly() {
+        for (int i = 0; i < MAX_CONCURRENT; i++) {
+            bulkheads.of("slow").callAsync(CompletableFuture::new);
+        }
+
+        Throwable rejected = catchThrowable(() -> bulkheads.of("SLOW").call(() -> "late"));
+
+        assertThat(rejected).isInstanceOf(BulkheadRejectedException.class);
+        assertThat(bulkheads.of("fast").call(() -> "served")).isEqualTo("served");
+        assertThat(bulkheads.of("slow").rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReleasePermitWhenAsyncLookupCompletes() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        bulkheads.of("owner").callAsync(() -> pending);
+        bulkheads.of("owner").callAsync(() -> pending);
+
+        pending.complete("done");
+
+        assertThat(bulkheads.of("owner").inFlight()).isEqualTo(0);
+        assertThat(bulkheads.of("owner").call(() -> "served")).isEqualTo("served");
+    }
+
+    @Test
+    public void shouldOpenCircuitOfFailingOwnerAndCloseAfterSuccessfulTrial() {
+        for (int i = 0; i < MIN_REQUESTS; i++) {
+            catchThrowable(() -> bulkheads.of("failing").call(() -> {
+                throw new IllegalStateException("Github failed");
+            }));
+        }
+
+        assertThat(bulkheads.of("failing").isOpen()).isTrue();
+        assertThat(catchThrowable(() -> bulkheads.of("failing").call(() -> "skipped"))).isInstanceOf(BulkheadRejectedException.class);
+        assertThat(bulkheads.of("healthy").call(() -> "served")).isEqualTo("served");
+
+        clock.advance(SLEEP_WINDOW);
+
+        assertThat(bulkheads.of("failing").call(() -> "trial")).isEqualTo("trial");
+        assertThat(bulkheads.of("failing").isOpen()).isFalse();
+        assertThat(bulkheads.of("failing").shortCircuitedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCountNotModifiedAsSuccess() {
+        for (int i = 0; i < MIN_REQUESTS; i++) {
+            catchThrowable(() -> bulkheads.of("owner").call(() -> {
+                throw new RepositoryNotModifiedException(ownerRepository("owner", "name"), ETag.from("abc"));
+            }));
+        }
+
+        assertThat(bulkheads.of("owner").isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldNotCountGlobalCircuitRejectionsAsOwnerFailures() {
+        for (int i = 0; i < MIN_REQUESTS; i++) {
+            catchThrowable(() -> bulkheads.of("owner").call(() -> {
+                throw new HystrixRuntimeException(HystrixRuntimeException.FailureType.SHORTCIRCUIT, null,
+                        "Hystrix circuit short-circuited and is OPEN", null, null);
+            }));
+        }
+
+        assertThat(bulkheads.of("owner").isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldShareBulkheadWithinHashedBucket() {
+        OwnerBulkheads buckets = new OwnerBulkheads(4, 100, Duration.ofMinutes(10), SETTINGS, clock);
+
+        Set<String> names = IntStream.range(0, 1000)
+                .mapToObj(i -> buckets.of("owner" + i).name())
+                .collect(toSet());
+
+        assertThat(buckets.of("Owner1")).isSameAs(buckets.of("owner1"));
+        assertThat(names).hasSize(4);
+    }
+}
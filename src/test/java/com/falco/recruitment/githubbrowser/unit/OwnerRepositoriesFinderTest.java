@@ -0,0 +1,195 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.OwnerRepositoriesFinder;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.NotFoundCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryPage;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryPages;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class OwnerRepositoriesFinderTest {
+    private static final int WINDOW = 3;
+    private static final int PAGES = 10;
+    private static final String PAGE_URL = "https://api.github.com/user/1/repos?per_page=2&page=";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private ExecutorService executor;
+    private GithubRepositoryPages pages;
+    private RepositoryCache repositoryCache;
+    private OwnerRepositoriesFinder ownerRepositoriesFinder;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(10);
+        pages = mock(GithubRepositoryPages.class);
+        when(pages.firstPage("owner")).thenReturn(uri(1));
+        repositoryCache = new RepositoryCache(100, Duration.ofSeconds(60), Duration.ZERO, Duration.ZERO,
+                RepositoryStore.NONE, NotFoundCache.NONE, new MutableClock());
+        ownerRepositoriesFinder = new OwnerRepositoriesFinder(pages, repositoryCache, executor, WINDOW);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldStreamPagesInOrderWithBoundedPrefetch() throws Exception {
+        for (int page = 2; page <= PAGES; page++) {
+            GithubRepositoryPage githubPage = page(page, links(page, true));
+            when(pages.page(uri(page))).then(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                inFlight.decrementAndGet();
+                return Optional.of(githubPage);
+            });
+        }
+
+        List<String> names = findAll(page(1, links(1, true)));
+
+        assertThat(names).containsExactlyElementsOf(IntStream.rangeClosed(1, PAGES)
+                .boxed()
+                .flatMap(page -> names(page).stream())
+                .collect(Collectors.toList()));
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(WINDOW).isGreaterThan(1);
+    }
+
+    @Test
+    public void shouldFetchFewerPagesAheadWhenExecutorIsSaturated() throws Exception {
+        for (int page = 2; page <= PAGES; page++) {
+            when(pages.page(uri(page))).thenReturn(Optional.of(page(page, links(page, true))));
+        }
+        ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        ownerRepositoriesFinder = new OwnerRepositoriesFinder(pages, repositoryCache, saturated, WINDOW);
+        try {
+            assertThat(findAll(page(1, links(1, true)))).containsExactlyElementsOf(
+                    IntStream.rangeClosed(1, PAGES).boxed().flatMap(page -> names(page).stream()).collect(Collectors.toList()));
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldFailWhenNoPageCanBeFetched() {
+        ownerRepositoriesFinder = new OwnerRepositoriesFinder(pages, repositoryCache, command -> {
+            throw new RejectedExecutionException("saturated");
+        }, WINDOW);
+
+        Throwable failure = ownerRepositoriesFinder.findAll(page(1, links(1, true)), repositories -> {
+        }).handle((result, e) -> e).join();
+
+        assertThat(failure).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void shouldFollowNextLinksWithoutLastLink() throws Exception {
+        when(pages.page(uri(2))).thenReturn(Optional.of(page(2, links(2, false))));
+        when(pages.page(uri(3))).thenReturn(Optional.of(page(3, Collections.emptyMap())));
+
+        assertThat(findAll(page(1, links(1, false)))).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 3).boxed().flatMap(page -> names(page).stream()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldPutListedRepositoriesIntoCache() throws Exception {
+        findAll(page(1, Collections.emptyMap()));
+
+        assertThat(repositoryCache.get(repository("1a").ownerRepository()).get().getRepository()).isEqualTo(repository("1a"));
+        assertThat(repositoryCache.get(repository("1b").ownerRepository()).isPresent()).isTrue();
+    }
+
+    @Test
+    public void shouldKeepCachedRepositoryWithETagWhenUnchanged() throws Exception {
+        Repository cached = repository("1a").toBuilder().eTag(ETag.from("abc")).build();
+        repositoryCache.put(cached.ownerRepository(), cached);
+
+        findAll(page(1, Collections.emptyMap()));
+
+        assertThat(repositoryCache.get(cached.ownerRepository()).get().getRepository()).isEqualTo(cached);
+    }
+
+    @Test
+    public void shouldInvalidateCachedRepositoryWhenChanged() throws Exception {
+        Repository cached = repository("1a").toBuilder().stars(1).eTag(ETag.from("abc")).build();
+        repositoryCache.put(cached.ownerRepository(), cached);
+
+        findAll(page(1, Collections.emptyMap()));
+
+        assertThat(repositoryCache.get(cached.ownerRepository()).isPresent()).isFalse();
+    }
+
+    @Test
+    public void shouldStopWhenConsumerFails() {
+        when(pages.page(any())).then(invocation -> Optional.of(page(2, links(2, true))));
+
+        Throwable failure = ownerRepositoriesFinder.findAll(page(1, links(1, true)), repositories -> {
+            throw new IllegalStateException("Client disconnected");
+        }).handle((result, e) -> e).join();
+
+        assertThat(failure).isInstanceOf(IllegalStateException.class);
+        verify(pages, never()).page(any());
+    }
+
+    private List<String> findAll(GithubRepositoryPage firstPage) throws Exception {
+        List<String> names = new CopyOnWriteArrayList<>();
+        ownerRepositoriesFinder.findAll(firstPage, repositories -> repositories.forEach(repository -> names.add(repository.getName())))
+                .get(5, TimeUnit.SECONDS);
+        return names;
+    }
+
+    private static GithubRepositoryPage page(int page, Map<String, URI> links) {
+        List<Repository> repositories = names(page).stream().map(OwnerRepositoriesFinderTest::repository).collect(Collectors.toList());
+        return new GithubRepositoryPage(uri(page), repositories, ETag.from("page" + page), links);
+    }
+
+    private static Map<String, URI> links(int page, boolean withLast) {
+        Map<String, URI> links = new HashMap<>();
+        if (page < PAGES) {
+            links.put("next", uri(page + 1));
+        }
+        if (withLast) {
+            links.put("last", uri(PAGES));
+        }
+        return links;
+    }
+
+    private static List<String> names(int page) {
+        return asList(page + "a", page + "b");
+    }
+
+    private static Repository repository(String name) {
+        return Repository.builder().owner("owner").name(name).eTag(ETag.NO_ETAG).build();
+    }
+
+    private static URI uri(int page) {
+        return URI.create(PAGE_URL + page);
+    }
+}
@@ -0,0 +1,117 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryFinderStage;
+import com.falco.recruitment.githubbrowser.ServedRepository;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.pipeline.PipelineRepositoryFinder;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PipelineRepositoryFinderTest {
+    private static final Repository REPOSITORY = Repository.builder().owner("owner").name("name").build();
+
+    private final List<String> calls = new ArrayList<>();
+    private DefaultListableBeanFactory beanFactory;
+
+    @Before
+    public void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("outer", stage("outer"));
+        beanFactory.registerSingleton("inner", stage("inner"));
+        beanFactory.registerSingleton("github", (RepositoryFinder) (ownerRepository, eTag) -> {
+            calls.add("github");
+            return Optional.of(REPOSITORY);
+        });
+    }
+
+    @Test
+    public void shouldCallStagesInDeclaredOrder() {
+        PipelineRepositoryFinder pipeline = new PipelineRepositoryFinder(beanFactory, new StageTimers(), "outer, inner, github");
+
+        assertThat(pipeline.tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG)).isEqualTo(Optional.of(REPOSITORY));
+        assertThat(calls).containsExactly("outer", "inner", "github");
+    }
+
+    @Test
+    public void shouldPassStalenessThroughOuterStages() {
+        beanFactory.registerSingleton("cache", new RepositoryFinderStage() {
+            @Override
+            public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+                return next.tryFind(ownerRepository, eTag);
+            }
+
+            @Override
+            public Optional<ServedRepository> tryServe(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+                return next.tryFind(ownerRepository, eTag).map(ServedRepository::stale);
+            }
+        });
+        PipelineRepositoryFinder pipeline = new PipelineRepositoryFinder(beanFactory, new StageTimers(), "outer,cache,github");
+
+        assertThat(pipeline.tryServe(REPOSITORY.ownerRepository(), ETag.NO_ETAG)).isEqualTo(Optional.of(ServedRepository.stale(REPOSITORY)));
+        assertThat(pipeline.tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG)).isEqualTo(Optional.of(REPOSITORY));
+    }
+
+    @Test
+    public void shouldReplacePipeline() {
+        PipelineRepositoryFinder pipeline = new PipelineRepositoryFinder(beanFactory, new StageTimers(), "outer,inner,github");
+
+        pipeline.replace("inner,github");
+        pipeline.tryFind(REPOSITORY.ownerRepository(), ETag.NO_ETAG);
+
+        assertThat(pipeline.stages()).isEqualTo(asList("inner", "github"));
+        assertThat(calls).containsExactly("inner", "github");
+    }
+
+    @Test
+    public void shouldKeepPipelineWhenReplacementIsInvalid() {
+        PipelineRepositoryFinder pipeline = new PipelineRepositoryFinder(beanFactory, new StageTimers(), "outer,github");
+
+        assertThat(catchThrowable(() -> pipeline.replace("github,outer"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> pipeline.replace("outer,missing"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> pipeline.replace(" "))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pipeline.stages()).isEqualTo(asList("outer", "github"));
+    }
+
+    @Test
+    public void shouldRejectCompositeAsLastStage() {
+        PipelineRepositoryFinder pipeline = new PipelineRepositoryFinder(beanFactory, new StageTimers(), "outer,github");
+        beanFactory.registerSingleton("pipelineRepositoryFinder", pipeline);
+        beanFactory.registerSingleton("composite", new CompositeFinder());
+
+        assertThat(catchThrowable(() -> pipeline.replace("outer,pipelineRepositoryFinder"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> pipeline.replace("outer,composite"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pipeline.stages()).isEqualTo(asList("outer", "github"));
+    }
+
+    private RepositoryFinderStage stage(String name) {
+        return (ownerRepository, eTag, next) -> {
+            calls.add(name);
+            return next.tryFind(ownerRepository, eTag);
+        };
+    }
+
+    private static class CompositeFinder implements RepositoryFinder, RepositoryFinderStage {
+        @Override
+        public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Repository> tryFind(OwnerRepository ownerRepository, ETag eTag, RepositoryFinder next) {
+            return next.tryFind(ownerRepository, eTag);
+        }
+    }
+}
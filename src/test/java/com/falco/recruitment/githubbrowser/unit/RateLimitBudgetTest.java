@@ -0,0 +1,87 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.RateLimitExceededException;
+import com.falco.recruitment.githubbrowser.integration.RateLimitBudget;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RateLimitBudgetTest {
+    private static final int LIMIT = 100;
+    private final MutableClock clock = new MutableClock();
+    private final Instant resetAt = clock.instant().plus(Duration.ofMinutes(30));
+    private final RateLimitBudget budget = new RateLimitBudget(LIMIT, 0.1, LIMIT, Duration.ZERO, clock);
+
+    @Test
+    public void shouldAssumeFullLimitUntilFirstResponse() {
+        for (int i = 0; i < LIMIT - 10; i++) {
+            budget.acquire(false, true);
+        }
+
+        assertThat(budget.remaining()).isEqualTo(10);
+        assertThat(catchThrowable(() -> budget.acquire(false, true))).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    public void shouldKeepReserveForRevalidations() {
+        budget.update(response(10, resetAt));
+
+        Throwable coldFetch = catchThrowable(() -> budget.acquire(false, true));
+        budget.acquire(true, true);
+
+        assertThat(coldFetch).isInstanceOf(RateLimitExceededException.class);
+        assertThat(((RateLimitExceededException) coldFetch).getResetAt()).isEqualTo(resetAt);
+        assertThat(budget.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFailFastUntilReset() {
+        budget.update(response(0, resetAt));
+
+        assertThat(catchThrowable(() -> budget.acquire(true, true))).isInstanceOf(RateLimitExceededException.class);
+        clock.advance(Duration.ofMinutes(30));
+        budget.acquire(false, true);
+
+        assertThat(budget.remaining()).isEqualTo(LIMIT - 1);
+    }
+
+    @Test
+    public void shouldNotRaiseRemainingOnResponseArrivingLate() {
+        budget.update(response(50, resetAt));
+        budget.update(response(60, resetAt));
+
+        assertThat(budget.remaining()).isEqualTo(50);
+
+        budget.update(response(90, resetAt.plus(Duration.ofHours(1))));
+
+        assertThat(budget.remaining()).isEqualTo(90);
+    }
+
+    @Test
+    public void shouldPaceColdFetchesOverTimeToReset() {
+        RateLimitBudget pacedBudget = new RateLimitBudget(LIMIT, 0.1, 2, Duration.ZERO, clock);
+        pacedBudget.update(response(50, resetAt));
+
+        pacedBudget.acquire(false, true);
+        pacedBudget.acquire(false, true);
+        Throwable paced = catchThrowable(() -> pacedBudget.acquire(false, true));
+        pacedBudget.acquire(true, true);
+
+        assertThat(paced).isInstanceOf(RateLimitExceededException.class).hasMessageContaining("paced");
+    }
+
+    private static HttpResponse response(int remaining, Instant resetAt) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setHeader(RateLimitBudget.LIMIT_HEADER, String.valueOf(LIMIT));
+        response.setHeader(RateLimitBudget.REMAINING_HEADER, String.valueOf(remaining));
+        response.setHeader(RateLimitBudget.RESET_HEADER, String.valueOf(resetAt.getEpochSecond()));
+        return response;
+    }
+}
@@ -2,7 +2,12 @@ package com.falco.recruitment.githubbrowser.unit;
 
 import com.falco.recruitment.githubbrowser.RepositoriesController;
 import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.RepositoryBodies;
 import com.falco.recruitment.githubbrowser.RepositoryFinder;
+import com.falco.recruitment.githubbrowser.RepositoryNotModifiedException;
+import com.falco.recruitment.githubbrowser.ServedRepository;
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.tracing.Tracer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
@@ -11,14 +16,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.rest.webmvc.support.ETag;
 import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.util.StreamUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static com.falco.recruitment.githubbrowser.RepositoriesController.REPOSITORIES_CACHE_MAX_AGE_SECONDS;
 import static com.falco.recruitment.githubbrowser.RepositoriesController.REPOSITORIES_URL;
@@ -35,6 +46,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(RepositoriesController.class)
+@Import({StageTimers.class, Tracer.class, RepositoryBodies.class})
 public class RepositoriesControllerTest {
     @Autowired
     private MockMvc mvc;
@@ -82,6 +94,38 @@ public class RepositoriesControllerTest {
                 andExpect(noContent());
     }
 
+    @Test
+    public void shouldAnswerNotModifiedConfirmedByGithub() throws Exception {
+        ETag clientETag = ETag.from("abc");
+        when(repositoryFinder.tryServe(any(), any())).thenThrow(new RepositoryNotModifiedException(
+                repository("owner", "name").build().ownerRepository(), clientETag));
+
+        doGET("owner", "name", headers(clientETag)).
+                andDo(print()).
+                andExpect(status().isNotModified()).
+                andExpect(header().string(HttpHeaders.ETAG, clientETag.toString())).
+                andExpect(noContent());
+    }
+
+    @Test
+    public void shouldServeGzippedBodyWhenAccepted() throws Exception {
+        Repository repository = repository("owner", "name").eTag(ETag.from("abc")).build();
+        givenRepositories(repository);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+
+        byte[] body = doGET("owner", "name", headers).
+                andDo(print()).
+                andExpect(status().isOk()).
+                andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip")).
+                andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)).
+                andReturn().getResponse().getContentAsByteArray();
+
+        try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(StreamUtils.copyToString(json, StandardCharsets.UTF_8)).isEqualTo(toJSon(repository));
+        }
+    }
+
     @Test
     public void shouldAllowCaching() throws Exception {
         Repository repository = repository("owner", "name").build();
@@ -92,6 +136,18 @@ public class RepositoriesControllerTest {
                 andExpect(header().string("cache-control", String.format("max-age=%d, public", cacheMaxAgeInSeconds)));
     }
 
+    @Test
+    public void shouldNotAllowCachingOfStaleRepository() throws Exception {
+        Repository repository = repository("owner", "name").build();
+        when(repositoryFinder.tryServe(any(), any())).thenReturn(of(ServedRepository.stale(repository)));
+
+        doGET("owner", "name", new HttpHeaders()).
+                andDo(print()).
+                andExpect(status().isOk()).
+                andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\"")).
+                andExpect(header().string("cache-control", "no-cache"));
+    }
+
     private ResultMatcher noContent() {
         return content().string("");
     }
@@ -117,12 +173,12 @@ public class RepositoriesControllerTest {
     }
 
     private void givenRepositories(Repository... repositories) {
-        when(repositoryFinder.tryFind(any(), any())).thenReturn(empty());
+        when(repositoryFinder.tryServe(any(), any())).thenReturn(empty());
         Stream.of(repositories).forEach(this::mockFinderFor);
     }
 
     private void mockFinderFor(Repository repository) {
-        when(repositoryFinder.tryFind(repository.ownerRepository(), repository.getETag())).thenReturn(of(repository));
-        when(repositoryFinder.tryFind(repository.ownerRepository(), ETag.NO_ETAG)).thenReturn(of(repository));
+        when(repositoryFinder.tryServe(repository.ownerRepository(), repository.getETag())).thenReturn(of(ServedRepository.fresh(repository)));
+        when(repositoryFinder.tryServe(repository.ownerRepository(), ETag.NO_ETAG)).thenReturn(of(ServedRepository.fresh(repository)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.NotFoundCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import com.falco.recruitment.githubbrowser.search.RepositoryRankings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositoryRankingsTest {
+    private static final Repository OLD = repository("old", 100, LocalDateTime.of(2010, 1, 1, 0, 0));
+    private static final Repository MIDDLE = repository("middle", 5, LocalDateTime.of(2014, 6, 1, 12, 0));
+    private static final Repository NEW = repository("new", 100, LocalDateTime.of(2018, 1, 1, 0, 0));
+    private static final Repository UNDATED = repository("undated", 1, null);
+
+    private RepositoryCache repositoryCache;
+    private RepositoryRankings rankings;
+
+    @Before
+    public void setUp() {
+        repositoryCache = new RepositoryCache(100, Duration.ofSeconds(60), Duration.ZERO, Duration.ZERO,
+                RepositoryStore.NONE, NotFoundCache.NONE, new MutableClock());
+        rankings = new RepositoryRankings(repositoryCache, TimeUnit.MINUTES.toMillis(1));
+        put(OLD, MIDDLE, NEW, UNDATED);
+        rankings.applyPending();
+    }
+
+    @After
+    public void tearDown() {
+        rankings.stop();
+    }
+
+    @Test
+    public void shouldListMostStarredFirst() {
+        assertThat(names(rankings.byStars(0, Integer.MAX_VALUE, 3, true))).containsExactly("old", "new", "middle");
+        assertThat(names(rankings.byStars(2, 99, 10, false))).containsExactly("middle");
+    }
+
+    @Test
+    public void shouldListRepositoriesCreatedWithinRange() {
+        assertThat(names(rankings.byCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0), LocalDateTime.of(2015, 1, 1, 0, 0), 10, false)))
+                .containsExactly("old", "middle");
+        assertThat(names(rankings.byCreatedAt(null, null, 1, true))).containsExactly("new");
+    }
+
+    @Test
+    public void shouldFollowCacheUpdates() {
+        put(MIDDLE.toBuilder().stars(1000).build(), OLD.toBuilder().description("same stars").build());
+        repositoryCache.invalidate(NEW.ownerRepository());
+        rankings.applyPending();
+
+        assertThat(rankings.byStars(0, Integer.MAX_VALUE, 10, true)).containsExactly(
+                MIDDLE.toBuilder().stars(1000).build(), OLD.toBuilder().description("same stars").build(), UNDATED);
+        assertThat(names(rankings.byCreatedAt(null, null, 10, true))).containsExactly("middle", "old");
+        assertThat(rankings.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldKeepOrderAcrossChunksWhileEntriesChange() {
+        repositoryCache = new RepositoryCache(10000, Duration.ofSeconds(60), Duration.ZERO, Duration.ZERO,
+                RepositoryStore.NONE, NotFoundCache.NONE, new MutableClock());
+        RepositoryRankings manyRankings = new RepositoryRankings(repositoryCache, TimeUnit.MINUTES.toMillis(1));
+        Random random = new Random(42);
+        Map<String, Repository> expected = new HashMap<>();
+        try {
+            for (int batch = 0; batch < 20; batch++) {
+                for (int i = 0; i < 200; i++) {
+                    Repository repository = repository("r" + random.nextInt(2000), random.nextInt(50), null);
+                    if (random.nextInt(4) == 0) {
+                        repositoryCache.invalidate(repository.ownerRepository());
+                        expected.remove(repository.getName());
+                    } else {
+                        put(repository);
+                        expected.put(repository.getName(), repository);
+                    }
+                }
+                manyRankings.applyPending();
+            }
+
+            assertThat(manyRankings.size()).isEqualTo(expected.size());
+            assertThat(manyRankings.byStars(10, 20, Integer.MAX_VALUE, false)).containsExactlyElementsOf(expected.values().stream()
+                    .filter(repository -> repository.getStars() >= 10 && repository.getStars() <= 20)
+                    .sorted(Comparator.comparingInt(Repository::getStars).thenComparing(Repository::getName))
+                    .collect(Collectors.toList()));
+            assertThat(manyRankings.byStars(0, Integer.MAX_VALUE, 3, true)).extracting(Repository::getStars).containsExactly(49, 49, 49);
+        } finally {
+            manyRankings.stop();
+        }
+    }
+
+    private void put(Repository... repositories) {
+        for (Repository repository : repositories) {
+            repositoryCache.put(repository.ownerRepository(), repository);
+        }
+    }
+
+    private static List<String> names(List<Repository> repositories) {
+        return repositories.stream().map(Repository::getName).collect(Collectors.toList());
+    }
+
+    private static Repository repository(String name, int stars, LocalDateTime createdAt) {
+        return Repository.builder().owner("owner").name(name).stars(stars).createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.NotFoundCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import com.falco.recruitment.githubbrowser.search.RepositorySearchIndex;
+import com.falco.recruitment.githubbrowser.search.SearchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositorySearchIndexTest {
+    private static final Repository SPRING_BOOT = repository("wokol", "spring-boot", "Spring Boot fork", 12);
+    private static final Repository GUIDES = repository("wokol", "guides", "Getting started with spring", 50);
+    private static final Repository JUNIT = repository("junit-team", "junit4", "A programmer-oriented testing framework", 7000);
+    private static final long NO_SCHEDULED_BATCH = Duration.ofHours(1).toMillis();
+
+    private RepositoryCache repositoryCache;
+    private RepositorySearchIndex index;
+
+    @Before
+    public void setUp() {
+        repositoryCache = new RepositoryCache(100, Duration.ofSeconds(60), Duration.ZERO, Duration.ZERO,
+                RepositoryStore.NONE, NotFoundCache.NONE, new MutableClock());
+        index = new RepositorySearchIndex(repositoryCache, NO_SCHEDULED_BATCH);
+        put(SPRING_BOOT, GUIDES, JUNIT);
+    }
+
+    @After
+    public void tearDown() {
+        index.stop();
+    }
+
+    @Test
+    public void shouldRankNameMatchesFirst() {
+        assertThat(names(index.search("spring", 0, 10))).containsExactly("spring-boot", "guides");
+    }
+
+    @Test
+    public void shouldMatchAllWordsCaseInsensitively() {
+        assertThat(names(index.search("SPRING  boot", 0, 10))).containsExactly("spring-boot");
+        assertThat(names(index.search("Wokol/Guides", 0, 10))).containsExactly("guides");
+        assertThat(names(index.search("spring junit4", 0, 10))).isEmpty();
+        assertThat(names(index.search("   ", 0, 10))).isEmpty();
+    }
+
+    @Test
+    public void shouldPageRankedResults() {
+        put(repository("owner", "other", "uses spring too", 1));
+
+        SearchResult secondPage = index.search("spring", 1, 2);
+
+        assertThat(secondPage.getTotal()).isEqualTo(3);
+        assertThat(names(secondPage)).containsExactly("other");
+        assertThat(names(index.search("spring", 5, 2))).isEmpty();
+    }
+
+    @Test
+    public void shouldFollowCacheUpdates() {
+        put(GUIDES.toBuilder().description("Getting started with junit").build());
+
+        assertThat(names(index.search("spring", 0, 10))).containsExactly("spring-boot");
+        assertThat(names(index.search("junit", 0, 10))).containsExactly("junit4", "guides");
+    }
+
+    @Test
+    public void shouldNotIndexUntilBatchIsApplied() {
+        repositoryCache.put(JUNIT.ownerRepository(), JUNIT.toBuilder().description("spring testing").build());
+
+        assertThat(names(index.search("spring", 0, 10))).containsExactly("spring-boot", "guides");
+        assertThat(index.pendingCount()).isEqualTo(1);
+        index.applyPending();
+        assertThat(names(index.search("spring", 0, 10))).containsExactly("spring-boot", "junit4", "guides");
+    }
+
+    @Test
+    public void shouldForgetInvalidatedRepositories() {
+        repositoryCache.invalidate(SPRING_BOOT.ownerRepository());
+        put(repository("owner", "reused", "spring number", 0));
+
+        assertThat(names(index.search("boot", 0, 10))).isEmpty();
+        assertThat(names(index.search("spring", 0, 10))).containsExactly("guides", "reused");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private void put(Repository... repositories) {
+        for (Repository repository : repositories) {
+            repositoryCache.put(repository.ownerRepository(), repository);
+        }
+        index.applyPending();
+    }
+
+    private static List<String> names(SearchResult result) {
+        return result.getRepositories().stream().map(Repository::getName).collect(Collectors.toList());
+    }
+
+    private static Repository repository(String owner, String name, String description, int stars) {
+        return Repository.builder().owner(owner).name(name).fullName(owner + "/" + name).description(description).stars(stars).build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.metrics.StageTimer;
+import com.falco.recruitment.githubbrowser.tracing.Span;
+import com.falco.recruitment.githubbrowser.tracing.Trace;
+import com.falco.recruitment.githubbrowser.tracing.Tracer;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TracerTest {
+    private static final int BUFFER_SIZE = 2;
+
+    @Test
+    public void shouldAddStageTimesAsSpansOfSampledRequest() {
+        Tracer tracer = new Tracer(1.0, BUFFER_SIZE);
+        Trace trace = tracer.startIfSampled("GET /repositories/owner/name");
+
+        new StageTimer("http").recordSince(System.nanoTime());
+        Tracer.span("parse", System.nanoTime());
+        tracer.finish(trace);
+
+        assertThat(Tracer.current()).isNull();
+        assertThat(tracer.recent()).containsExactly(trace);
+        assertThat(trace.getSpans().stream().map(Span::getName).collect(Collectors.toList())).containsExactly("http", "parse");
+        assertThat(trace.getDurationMicros()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotTraceWhenNotSampled() {
+        Tracer tracer = new Tracer(0, BUFFER_SIZE);
+
+        assertThat(tracer.startIfSampled("GET /repositories/owner/name")).isNull();
+        assertThat(Tracer.current()).isNull();
+        assertThat(tracer.sampledCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldKeepMostRecentTracesOnly() {
+        Tracer tracer = new Tracer(1.0, BUFFER_SIZE);
+
+        for (int i = 0; i < 5; i++) {
+            tracer.finish(tracer.startIfSampled("request" + i));
+        }
+        List<String> names = tracer.recent().stream().map(Trace::getName).collect(Collectors.toList());
+
+        assertThat(names).containsExactly("request4", "request3");
+        assertThat(tracer.sampledCount()).isEqualTo(5);
+    }
+}
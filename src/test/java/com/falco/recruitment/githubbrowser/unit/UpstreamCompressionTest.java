@@ -0,0 +1,74 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.GithubRepositoryHttpMessageConverter;
+import com.falco.recruitment.githubbrowser.integration.UpstreamCompression;
+import com.falco.recruitment.githubbrowser.performance.GithubStandIn;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.cache.CachingHttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UpstreamCompressionTest {
+    private GithubStandIn githubStandIn;
+    private CloseableHttpClient client;
+    private UpstreamCompression upstreamCompression;
+    private RestTemplate restTemplate;
+
+    @Before
+    public void setUp() throws IOException {
+        githubStandIn = GithubStandIn.defaults().port(0).build().start();
+        githubStandIn.givenRepository("wokol", "spring-boot");
+        client = CachingHttpClients.custom().disableContentCompression().build();
+        upstreamCompression = new UpstreamCompression();
+        restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(client));
+        restTemplate.setInterceptors(Collections.singletonList(upstreamCompression.interceptor()));
+        restTemplate.getMessageConverters().add(0, new GithubRepositoryHttpMessageConverter());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.close();
+        githubStandIn.stop();
+    }
+
+    @Test
+    public void shouldParseGzippedResponse() {
+        GithubRepository repository = restTemplate.getForObject(url(), GithubRepository.class);
+
+        assertThat(repository.getFullName()).isEqualTo("wokol/spring-boot");
+        assertThat(upstreamCompression.compressedBytes()).isGreaterThan(0);
+        assertThat(upstreamCompression.uncompressedBytes()).isGreaterThan(2 * upstreamCompression.compressedBytes());
+        assertThat(upstreamCompression.identityBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldServeAndRevalidateGzippedResponseFromHttpCache() {
+        ResponseEntity<GithubRepository> fetched = restTemplate.getForEntity(url(), GithubRepository.class);
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(fetched.getHeaders().getETag());
+
+        GithubRepository cached = restTemplate.getForObject(url(), GithubRepository.class);
+        ResponseEntity<GithubRepository> revalidated = restTemplate.exchange(url(), HttpMethod.GET, new HttpEntity<>(conditional), GithubRepository.class);
+
+        assertThat(cached.getFullName()).isEqualTo("wokol/spring-boot");
+        assertThat(revalidated.getStatusCodeValue()).isEqualTo(304);
+        assertThat(githubStandIn.statusCount(200)).isEqualTo(1);
+    }
+
+    private String url() {
+        return "http://localhost:" + githubStandIn.port() + "/repos/wokol/spring-boot";
+    }
+}
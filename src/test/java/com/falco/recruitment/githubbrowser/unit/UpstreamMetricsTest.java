@@ -0,0 +1,63 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.metrics.StageTimers;
+import com.falco.recruitment.githubbrowser.metrics.UpstreamMetrics;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UpstreamMetricsTest {
+    private final StageTimers stageTimers = new StageTimers();
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics(stageTimers);
+
+    @Test
+    public void shouldCountCacheResponseStatusSetByClient() {
+        HttpContext context = upstreamMetrics.httpCacheContext();
+
+        context.setAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS, CacheResponseStatus.VALIDATED);
+        upstreamMetrics.httpCacheContext().setAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS, CacheResponseStatus.CACHE_HIT);
+
+        assertThat(HttpCacheContext.adapt(context).getCacheResponseStatus()).isEqualTo(CacheResponseStatus.VALIDATED);
+        assertThat(upstreamMetrics.cacheStatusCount(CacheResponseStatus.VALIDATED)).isEqualTo(1);
+        assertThat(upstreamMetrics.cacheStatusCount(CacheResponseStatus.CACHE_HIT)).isEqualTo(1);
+        assertThat(upstreamMetrics.cacheStatusCount(CacheResponseStatus.CACHE_MISS)).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldCountStatusesAndTimeExecution() throws Exception {
+        ClientHttpRequestInterceptor interceptor = upstreamMetrics.interceptor();
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenReturn(
+                new MockClientHttpResponse(new byte[0], HttpStatus.OK),
+                new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED),
+                new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED),
+                new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("/repos/owner/name")), new byte[0], execution);
+        }
+
+        Map<String, Number> metrics = upstreamMetrics.metrics().stream().collect(Collectors.toMap(Metric::getName, Metric::getValue));
+        assertThat(metrics).containsEntry("githubbrowser.upstream.status.200", 1L)
+                .containsEntry("githubbrowser.upstream.status.304", 3L)
+                .containsEntry("githubbrowser.upstream.not.modified.ratio", 0.75);
+        assertThat(stageTimers.timer(StageTimers.HTTP).count()).isEqualTo(4);
+    }
+}
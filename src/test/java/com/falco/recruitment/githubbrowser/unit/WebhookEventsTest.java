@@ -0,0 +1,152 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.OwnerRepository;
+import com.falco.recruitment.githubbrowser.Repository;
+import com.falco.recruitment.githubbrowser.cache.NotFoundCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryCache;
+import com.falco.recruitment.githubbrowser.cache.RepositoryStore;
+import com.falco.recruitment.githubbrowser.integration.GithubRepository;
+import com.falco.recruitment.githubbrowser.integration.GithubWebhookPayload;
+import com.falco.recruitment.githubbrowser.webhook.WebhookEvents;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.rest.webmvc.support.ETag;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+
+import static com.falco.recruitment.githubbrowser.OwnerRepository.ownerRepository;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookEventsTest {
+    private static final long NO_SCHEDULED_BATCH = Duration.ofHours(1).toMillis();
+    private static final int MAX_PENDING = 3;
+    private static final Repository CACHED = Repository.builder().owner("Wokol").name("spring-boot").stars(12).eTag(ETag.from("abc")).build();
+
+    private RepositoryCache repositoryCache;
+    private WebhookEvents events;
+
+    @Before
+    public void setUp() {
+        repositoryCache = new RepositoryCache(100, Duration.ofSeconds(60), Duration.ZERO, Duration.ZERO,
+                RepositoryStore.NONE, NotFoundCache.NONE, new MutableClock());
+        repositoryCache.put(CACHED.ownerRepository(), CACHED);
+        events = new WebhookEvents(repositoryCache, NO_SCHEDULED_BATCH, MAX_PENDING);
+    }
+
+    @After
+    public void tearDown() {
+        events.stop();
+    }
+
+    @Test
+    public void shouldInvalidateChangedCachedRepositoryWithLatestEventInBatch() {
+        events.offer("1", "star", payload("created", "wokol", "spring-boot", 13));
+        events.offer("2", "push", payload(null, "wokol", "spring-boot", 14));
+
+        assertThat(cached(CACHED.ownerRepository()).get().getStars()).isEqualTo(12);
+        events.applyPending();
+
+        assertThat(cached(CACHED.ownerRepository()).isPresent()).isFalse();
+        assertThat(events.coalescedCount()).isEqualTo(1);
+        assertThat(events.appliedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldKeepUnchangedCachedRepositoryWithItsETag() {
+        Repository cached = CACHED.toBuilder().fullName("Wokol/spring-boot").build();
+        repositoryCache.put(cached.ownerRepository(), cached);
+
+        events.offer("1", "push", payload(null, "Wokol", "spring-boot", 12));
+        events.applyPending();
+
+        assertThat(cached(CACHED.ownerRepository()).get()).isEqualTo(cached);
+        assertThat(events.appliedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoriesUnlessCreated() {
+        events.offer("1", "star", payload("created", "wokol", "guides", 1));
+        events.offer("2", "repository", payload("created", "wokol", "new", 0));
+        events.applyPending();
+
+        assertThat(cached(ownerRepository("wokol", "guides")).isPresent()).isFalse();
+        assertThat(cached(ownerRepository("wokol", "new")).isPresent()).isTrue();
+    }
+
+    @Test
+    public void shouldInvalidateDeletedAndRenamedRepositories() {
+        Repository other = Repository.builder().owner("wokol").name("other").build();
+        repositoryCache.put(other.ownerRepository(), other);
+        GithubWebhookPayload renamed = new GithubWebhookPayload("renamed", githubRepository("wokol", "spring-boot-fork", 12),
+                Collections.singletonMap("repository.name.from", "spring-boot"));
+
+        events.offer("1", "repository", renamed);
+        events.offer("2", "repository", payload("deleted", "wokol", "other", 0));
+        events.applyPending();
+
+        assertThat(cached(CACHED.ownerRepository()).isPresent()).isFalse();
+        assertThat(cached(other.ownerRepository()).isPresent()).isFalse();
+    }
+
+    @Test
+    public void shouldDropRedeliveredEvents() {
+        events.offer("1", "star", payload("created", "wokol", "spring-boot", 13));
+        events.applyPending();
+        repositoryCache.put(CACHED.ownerRepository(), CACHED);
+
+        events.offer("1", "star", payload("created", "wokol", "spring-boot", 13));
+        events.applyPending();
+
+        assertThat(cached(CACHED.ownerRepository()).get()).isEqualTo(CACHED);
+        assertThat(events.redeliveredCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldAcceptRedeliveryOfRejectedEvent() {
+        events.offer("1", "star", payload("created", "wokol", "a", 1));
+        events.offer("2", "star", payload("created", "wokol", "b", 1));
+        events.offer("3", "star", payload("created", "wokol", "c", 1));
+        assertThat(events.offer("4", "repository", payload("created", "wokol", "d", 1))).isFalse();
+        events.applyPending();
+
+        assertThat(events.offer("4", "repository", payload("created", "wokol", "d", 1))).isTrue();
+        assertThat(events.redeliveredCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRejectBothChangesOfRenameWhenNotFitting() {
+        events.offer("1", "star", payload("created", "wokol", "a", 1));
+        events.offer("2", "star", payload("created", "wokol", "b", 1));
+        GithubWebhookPayload renamed = new GithubWebhookPayload("renamed", githubRepository("wokol", "spring-boot-fork", 12),
+                Collections.singletonMap("repository.name.from", "spring-boot"));
+
+        assertThat(events.offer("3", "repository", renamed)).isFalse();
+        assertThat(events.pendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRejectEventsOverPendingLimit() {
+        assertThat(events.offer("1", "star", payload("created", "wokol", "a", 1))).isTrue();
+        assertThat(events.offer("2", "star", payload("created", "wokol", "b", 1))).isTrue();
+        assertThat(events.offer("3", "star", payload("created", "wokol", "c", 1))).isTrue();
+
+        assertThat(events.offer("4", "star", payload("created", "wokol", "d", 1))).isFalse();
+        assertThat(events.offer("5", "star", payload("deleted", "wokol", "a", 0))).isTrue();
+        assertThat(events.rejectedCount()).isEqualTo(1);
+    }
+
+    private Optional<Repository> cached(OwnerRepository ownerRepository) {
+        return repositoryCache.get(ownerRepository).map(cachedRepository -> cachedRepository.getRepository());
+    }
+
+    private static GithubWebhookPayload payload(String action, String owner, String name, int stars) {
+        return new GithubWebhookPayload(action, githubRepository(owner, name, stars), Collections.emptyMap());
+    }
+
+    private static GithubRepository githubRepository(String owner, String name, int stars) {
+        return GithubRepository.builder().name(name).fullName(owner + "/" + name).stars(stars).owner(GithubRepository.login(owner)).build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.falco.recruitment.githubbrowser.unit;
+
+import com.falco.recruitment.githubbrowser.webhook.WebhookSignature;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookSignatureTest {
+    //example from Github webhook documentation
+    private static final byte[] PAYLOAD = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+    private static final String SIGNATURE_256 = "sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17";
+
+    private final WebhookSignature signature = new WebhookSignature("It's a Secret to Everybody");
+
+    @Test
+    public void shouldAcceptPayloadSignedWithSecret() {
+        assertThat(signature.verify(PAYLOAD, SIGNATURE_256, null)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectTamperedOrUnsignedPayload() {
+        assertThat(signature.verify("Hello, World?".getBytes(StandardCharsets.UTF_8), SIGNATURE_256, null)).isFalse();
+        assertThat(signature.verify(PAYLOAD, "sha256=zz", null)).isFalse();
+        assertThat(signature.verify(PAYLOAD, null, null)).isFalse();
+        assertThat(signature.rejectedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRejectEverythingWithoutSecret() {
+        assertThat(new WebhookSignature("").verify(PAYLOAD, SIGNATURE_256, null)).isFalse();
+    }
+}